@@ -0,0 +1,79 @@
+package com.greenlease.benchmarks;
+
+import com.greenlease.GreenLeaseApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+/**
+ * The application running on a private in-memory H2 database seeded with {@code rows}
+ * synthetic properties (see {@link CatalogGenerator}), shared by all threads of a trial.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+
+    public ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = startApplication("bench_" + rows + "_" + System.nanoTime());
+        long start = System.nanoTime();
+        CatalogGenerator.generate(context.getBean(JdbcTemplate.class), CatalogGenerator.Spec.forProperties(rows));
+        refreshReadModels(context);
+        System.out.printf("%nSeeded %d properties in %d ms%n", rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Rebuild the in-memory read models (search indexes, home snapshot) after seeding the database
+     */
+    public static void refreshReadModels(ConfigurableApplicationContext context) {
+        context.publishEvent(new ApplicationReadyEvent(new SpringApplication(GreenLeaseApplication.class),
+                                                       new String[0], context, Duration.ZERO));
+    }
+
+    /**
+     * Start the application against an empty in-memory database (schema and sample data only).
+     * {@code extraArgs} are further {@code --name=value} overrides.
+     */
+    public static ConfigurableApplicationContext startApplication(String database, String... extraArgs) {
+        // Command-line arguments, so they win over application.properties
+        return SpringApplication.run(GreenLeaseApplication.class, Stream.concat(Stream.of(
+            "--spring.datasource.url=jdbc:h2:mem:" + database
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;IGNORECASE=TRUE",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--server.port=0",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+            "--logging.level.com.greenlease=WARN",
+            "--logging.level.org.springframework.jdbc=WARN",
+            "--greenlease.rescore.resume-on-startup=false",
+            // Requests over their @QueryBudget fail, so the load driver reports them as errors
+            "--greenlease.query-budget.fail-on-exceed=true"), Stream.of(extraArgs)).toArray(String[]::new));
+    }
+}
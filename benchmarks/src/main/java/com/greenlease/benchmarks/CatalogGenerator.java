@@ -0,0 +1,349 @@
+package com.greenlease.benchmarks;
+
+import com.greenlease.model.EcoScoringModel;
+import com.greenlease.model.Property;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic catalog: landlords, properties and feedback with realistic shapes.
+ *
+ * <ul>
+ *   <li>Listings per landlord follow a power law (a few agencies own most listings).</li>
+ *   <li>Cities are weighted by market size; rent is log-normal around a per-city base
+ *       and grows with bedrooms.</li>
+ *   <li>Eco ratings share a per-listing "greenness", so a well insulated flat is also
+ *       likely to be energy efficient; solar panels are more common on green listings.</li>
+ *   <li>Reviews concentrate on popular listings and their ratings track the eco score.</li>
+ * </ul>
+ *
+ * The same {@link Spec} always produces the same data, so runs are comparable.
+ */
+public final class CatalogGenerator {
+
+    // city, state, latitude, longitude, market weight, base monthly rent
+    static final Object[][] CITIES = {
+        {"Bangalore", "Karnataka", 12.9716, 77.5946, 18, 1800},
+        {"Mumbai", "Maharashtra", 19.0760, 72.8777, 16, 2600},
+        {"Delhi", "Delhi", 28.7041, 77.1025, 14, 2000},
+        {"Chennai", "Tamil Nadu", 13.0827, 80.2707, 10, 1400},
+        {"Hyderabad", "Telangana", 17.3850, 78.4867, 10, 1500},
+        {"Pune", "Maharashtra", 18.5204, 73.8567, 8, 1500},
+        {"Kolkata", "West Bengal", 22.5726, 88.3639, 6, 1100},
+        {"Ahmedabad", "Gujarat", 23.0225, 72.5714, 4, 1000},
+        {"Jaipur", "Rajasthan", 26.9124, 75.7873, 3, 900},
+        {"Kochi", "Kerala", 9.9312, 76.2673, 3, 1100},
+        {"Coimbatore", "Tamil Nadu", 11.0168, 76.9558, 2, 900},
+        {"Mysore", "Karnataka", 12.2958, 76.6394, 2, 850},
+        {"Vellore", "Tamil Nadu", 12.9165, 79.1325, 1, 700},
+        {"Portland", "Oregon", 45.5152, -122.6784, 1, 2200},
+        {"Seattle", "Washington", 47.6062, -122.3321, 1, 2800},
+        {"Austin", "Texas", 30.2672, -97.7431, 1, 2100}
+    };
+
+    static final String[] TYPES = {"apartment", "apartment", "apartment", "condo", "house", "studio", "townhouse"};
+
+    private static final double[] BEDROOM_WEIGHTS = {0.30, 0.40, 0.20, 0.08, 0.02};
+    private static final String[] ADJECTIVES = {
+        "Sunny", "Green", "Quiet", "Modern", "Spacious", "Cozy", "Solar", "Leafy", "Bright", "Compact"
+    };
+    private static final String[] NOUNS = {"flat", "home", "apartment", "studio", "loft", "villa", "cottage", "duplex"};
+    private static final String[] FEATURES = {
+        "rainwater harvesting", "rooftop solar", "double glazing", "heat pump", "garden terrace",
+        "EV charging", "bamboo flooring", "composting", "LED lighting", "park views"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Asha", "Ravi", "Priya", "Arjun", "Meera", "Vikram", "Anita", "Karthik", "Sara", "John", "Lisa", "Mike"
+    };
+    private static final String[] LAST_NAMES = {
+        "Iyer", "Sharma", "Reddy", "Nair", "Patel", "Gupta", "Khan", "Das", "Smith", "Brown", "Davis", "Lee"
+    };
+    private static final String[] REVIEWS = {
+        "Great insulation, the flat stays cool.", "Bills were lower than our last place.",
+        "Solar panels cover most of our usage.", "Nice park nearby for morning walks.",
+        "Water pressure is low with the saving fixtures.", "Landlord fixes things quickly.",
+        "A bit noisy but very efficient.", "Would rent again."
+    };
+
+    private static final int BATCH_SIZE = 5000;
+
+    /**
+     * How much to generate
+     */
+    public static class Spec {
+        public final int landlords;
+        public final int properties;
+        public final int feedback;
+        public final long seed;
+
+        public Spec(int landlords, int properties, int feedback, long seed) {
+            this.landlords = Math.max(1, landlords);
+            this.properties = properties;
+            this.feedback = feedback;
+            this.seed = seed;
+        }
+
+        /**
+         * About fifty listings per landlord and one review per listing
+         */
+        public static Spec forProperties(int properties) {
+            return new Spec(Math.max(4, properties / 50), properties, properties, 42);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Spec spec;
+    private final Random random;
+    private final EcoScoringModel model = initialModel();
+    private final int totalCityWeight;
+
+    // Per generated listing, for reviews that match the listing
+    private long[] propertyIds;
+    private boolean[] hasSolar;
+    private float[] ecoScores;
+
+    private CatalogGenerator(JdbcTemplate jdbcTemplate, Spec spec) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.spec = spec;
+        this.random = new Random(spec.seed);
+        int weight = 0;
+        for (Object[] city : CITIES) {
+            weight += (Integer) city[4];
+        }
+        this.totalCityWeight = weight;
+    }
+
+    public static void generate(JdbcTemplate jdbcTemplate, Spec spec) {
+        new CatalogGenerator(jdbcTemplate, spec).run();
+    }
+
+    private void run() {
+        List<Long> landlordIds = insertLandlords();
+        insertProperties(landlordIds);
+        insertFeedback();
+
+        // Rebuild the running aggregates (feedback stats, landlord scores) with the schema's own statements
+        jdbcTemplate.update("UPDATE landlords SET eco_score_sum = NULL");
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"));
+        populator.setContinueOnError(true);
+        populator.execute(jdbcTemplate.getDataSource());
+    }
+
+    private List<Long> insertLandlords() {
+        long before = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM landlords", Long.class);
+        String sql = """
+            INSERT INTO landlords (first_name, last_name, email, phone, company, is_verified,
+                                   sustainability_score, total_properties, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, NULL, 0, ?, ?)
+            """;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.of(2023, 1, 1, 0, 0));
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < spec.landlords; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            batch.add(new Object[] {
+                first, last, "landlord" + i + "." + spec.seed + "@example.com",
+                "555-" + (1000 + random.nextInt(9000)),
+                random.nextInt(3) == 0 ? null : last + " Properties " + i,
+                random.nextDouble() < 0.6,
+                now, now
+            });
+            flushIfFull(sql, batch);
+        }
+        flush(sql, batch);
+        return jdbcTemplate.queryForList("SELECT id FROM landlords WHERE id > ? ORDER BY id", Long.class, before);
+    }
+
+    private void insertProperties(List<Long> landlordIds) {
+        String sql = """
+            INSERT INTO properties (title, description, address, city, state, zip_code, rent, property_type,
+                                    bedrooms, bathrooms, square_footage, insulation_rating, solar_panels,
+                                    solar_rating, water_conservation_rating, green_space_proximity,
+                                    energy_efficiency_rating, overall_eco_score, landlord_id, image_url,
+                                    is_available, created_at, updated_at, latitude, longitude)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+        hasSolar = new boolean[spec.properties];
+        ecoScores = new float[spec.properties];
+        long before = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM properties", Long.class);
+        LocalDateTime start = LocalDateTime.of(2022, 1, 1, 0, 0);
+        long spreadMinutes = 3L * 365 * 24 * 60;
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < spec.properties; i++) {
+            Object[] city = pickCity();
+            int bedrooms = 1 + pickIndex(BEDROOM_WEIGHTS);
+            // Shared greenness in [0, 1], bell-shaped
+            double greenness = (random.nextDouble() + random.nextDouble() + random.nextDouble()) / 3;
+            boolean solar = random.nextDouble() < 0.1 + 0.5 * greenness;
+
+            Property p = new Property();
+            p.setInsulationRating(rating(greenness));
+            p.setSolarRating(solar ? Math.max(1, rating(greenness)) : 0);
+            p.setWaterConservationRating(rating(greenness));
+            p.setEnergyEfficiencyRating(rating(greenness));
+            // Miles to the nearest park, mostly close
+            p.setGreenSpaceProximity(Math.min(15.0, Math.round(-Math.log(1 - random.nextDouble()) * 200) / 100.0));
+            double score = model.score(p);
+            hasSolar[i] = solar;
+            ecoScores[i] = (float) score;
+
+            double rent = (Integer) city[5] * (0.6 + 0.25 * bedrooms) * Math.exp(random.nextGaussian() * 0.25)
+                          * (1 + 0.1 * greenness);
+            String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            Timestamp created = Timestamp.valueOf(start.plusMinutes((long) (random.nextDouble() * spreadMinutes)));
+            batch.add(new Object[] {
+                adjective + " " + bedrooms + "BHK " + noun + " in " + city[0],
+                "A " + adjective.toLowerCase() + " " + noun + " with " + FEATURES[random.nextInt(FEATURES.length)]
+                    + " and " + FEATURES[random.nextInt(FEATURES.length)] + ".",
+                (1 + random.nextInt(999)) + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " Road",
+                city[0],
+                city[1],
+                String.valueOf(100000 + random.nextInt(900000)),
+                Math.round(rent),
+                TYPES[random.nextInt(TYPES.length)],
+                bedrooms,
+                Math.max(1, bedrooms - random.nextInt(2)),
+                Math.round(450 * bedrooms * Math.exp(random.nextGaussian() * 0.15)),
+                p.getInsulationRating(),
+                solar,
+                p.getSolarRating(),
+                p.getWaterConservationRating(),
+                p.getGreenSpaceProximity(),
+                p.getEnergyEfficiencyRating(),
+                score,
+                landlordIds.get(skewedIndex(landlordIds.size(), 3)),
+                null,
+                random.nextDouble() < 0.85,
+                created,
+                created,
+                (Double) city[2] + random.nextGaussian() * 0.08,
+                (Double) city[3] + random.nextGaussian() * 0.08
+            });
+            flushIfFull(sql, batch);
+        }
+        flush(sql, batch);
+        propertyIds = jdbcTemplate.queryForList("SELECT id FROM properties WHERE id > ? ORDER BY id", Long.class, before)
+                                  .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void insertFeedback() {
+        if (propertyIds.length == 0) {
+            return;
+        }
+        String sql = """
+            INSERT INTO feedback (property_id, tenant_name, tenant_email, overall_rating, eco_rating, comment,
+                                  is_verified, is_recommended, created_at, insulation_experience,
+                                  energy_bill_satisfaction, solar_system_satisfaction,
+                                  water_efficiency_satisfaction, green_space_satisfaction)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+        LocalDateTime start = LocalDateTime.of(2022, 6, 1, 0, 0);
+        long spreadMinutes = 3L * 365 * 24 * 60;
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < spec.feedback; i++) {
+            // Popular listings collect most of the reviews
+            int listing = skewedIndex(propertyIds.length, 2);
+            double quality = ecoScores[listing] / 10.0;
+            int overall = clamp((int) Math.round(2.5 + 2.5 * quality + random.nextGaussian()), 1, 5);
+            int eco = clamp((int) Math.round(1 + 4 * quality + random.nextGaussian()), 0, 5);
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            batch.add(new Object[] {
+                propertyIds[listing],
+                first + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                first.toLowerCase() + i + "@example.com",
+                overall,
+                eco,
+                REVIEWS[random.nextInt(REVIEWS.length)],
+                random.nextDouble() < 0.7,
+                overall >= 4 ? random.nextDouble() < 0.9 : random.nextDouble() < 0.2,
+                Timestamp.valueOf(start.plusMinutes((long) (random.nextDouble() * spreadMinutes))),
+                satisfaction(quality),
+                satisfaction(quality),
+                hasSolar[listing] ? satisfaction(quality) : 0,
+                satisfaction(quality),
+                satisfaction(quality)
+            });
+            flushIfFull(sql, batch);
+        }
+        flush(sql, batch);
+    }
+
+    private Object[] pickCity() {
+        int pick = random.nextInt(totalCityWeight);
+        for (Object[] city : CITIES) {
+            pick -= (Integer) city[4];
+            if (pick < 0) {
+                return city;
+            }
+        }
+        return CITIES[0];
+    }
+
+    private int pickIndex(double[] weights) {
+        double pick = random.nextDouble();
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /**
+     * Index in [0, size) biased towards 0; a higher exponent gives a longer tail
+     */
+    private int skewedIndex(int size, int exponent) {
+        return Math.min(size - 1, (int) (size * Math.pow(random.nextDouble(), exponent)));
+    }
+
+    private int rating(double greenness) {
+        return clamp((int) Math.round(greenness * 10 + random.nextGaussian() * 1.5), 0, 10);
+    }
+
+    private int satisfaction(double quality) {
+        // Not every reviewer rates every feature
+        return random.nextDouble() < 0.2 ? 0 : clamp((int) Math.round(1 + 4 * quality + random.nextGaussian()), 1, 5);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private void flushIfFull(String sql, List<Object[]> batch) {
+        if (batch.size() == BATCH_SIZE) {
+            flush(sql, batch);
+        }
+    }
+
+    private void flush(String sql, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * The version 1 weights from schema.sql
+     */
+    static EcoScoringModel initialModel() {
+        EcoScoringModel model = new EcoScoringModel();
+        model.setVersion(1L);
+        model.setInsulationWeight(0.2);
+        model.setSolarWeight(0.25);
+        model.setWaterConservationWeight(0.2);
+        model.setEnergyEfficiencyWeight(0.25);
+        model.setGreenSpaceWeight(0.1);
+        model.setGreenSpaceMaxDistance(10.0);
+        return model;
+    }
+}
@@ -0,0 +1,59 @@
+package com.greenlease.benchmarks;
+
+import com.greenlease.model.CursorPage;
+import com.greenlease.model.Feedback;
+import com.greenlease.service.FeedbackService;
+import com.greenlease.service.FeedbackService.FeedbackStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-property feedback statistics and the first page of reviews, for a random property
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx4g"})
+public class FeedbackStatisticsBenchmark {
+
+    private FeedbackService feedbackService;
+    private long minId;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext app) {
+        feedbackService = app.bean(FeedbackService.class);
+        JdbcTemplate jdbcTemplate = app.bean(JdbcTemplate.class);
+        minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM properties", Long.class);
+        maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM properties", Long.class);
+    }
+
+    @Benchmark
+    public FeedbackStatistics getFeedbackStatistics() {
+        return feedbackService.getFeedbackStatistics(randomPropertyId());
+    }
+
+    @Benchmark
+    public CursorPage<Feedback> getFeedbackByPropertyId() {
+        return feedbackService.getFeedbackByPropertyId(randomPropertyId(), null, FeedbackService.DEFAULT_PAGE_SIZE);
+    }
+
+    private long randomPropertyId() {
+        return minId + ThreadLocalRandom.current().nextLong(maxId - minId + 1);
+    }
+}
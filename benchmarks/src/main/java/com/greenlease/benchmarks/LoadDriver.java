@@ -0,0 +1,452 @@
+package com.greenlease.benchmarks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+
+/**
+ * Load test. Seeds a synthetic catalog, then replays a weighted mix of page and API requests
+ * through the full Spring MVC stack (security filters, controllers, Thymeleaf rendering) from
+ * closed-loop client threads, and reports throughput and latency percentiles.
+ *
+ * {@code --transport=mockmvc} (default) calls the dispatcher in process; {@code --transport=http}
+ * sends real requests to the embedded Tomcat, which is needed to compare
+ * {@code --execution=platform} and {@code --execution=virtual} request threads.
+ * Requests over their query budget count as errors in process; either way they are listed
+ * after the report.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.greenlease.benchmarks.LoadDriver \
+ *      --properties=100000 --threads=8 --warmup=10 --duration=30 \
+ *      --mix=home:10,list:25,detail:30,search:25,feedback:10
+ * </pre>
+ */
+public final class LoadDriver {
+
+    enum Operation { HOME, LIST, DETAIL, SEARCH, FEEDBACK }
+
+    private static final String[] KEYWORDS = {"solar", "green terrace", "heat pump", "quiet flat", "leafy", "spa"};
+    private static final String[] CITY_PREFIXES = {"b", "ch", "mu", "pu", "hy", "de", "ko"};
+
+    private final Transport transport;
+    private final long minId;
+    private final long maxId;
+
+    private LoadDriver(Transport transport, long minId, long maxId) {
+        this.transport = transport;
+        this.minId = minId;
+        this.maxId = maxId;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int properties = Integer.parseInt(options.getOrDefault("properties", "10000"));
+        CatalogGenerator.Spec defaults = CatalogGenerator.Spec.forProperties(properties);
+        CatalogGenerator.Spec spec = new CatalogGenerator.Spec(
+            Integer.parseInt(options.getOrDefault("landlords", String.valueOf(defaults.landlords))),
+            properties,
+            Integer.parseInt(options.getOrDefault("feedback", String.valueOf(defaults.feedback))),
+            Long.parseLong(options.getOrDefault("seed", "42")));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "8"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        double[] mix = parseMix(options.getOrDefault("mix", "home:10,list:25,detail:30,search:25,feedback:10"));
+        String transportName = options.getOrDefault("transport", "mockmvc");
+        String execution = options.getOrDefault("execution", "platform");
+
+        ConfigurableApplicationContext context = BenchmarkContext.startApplication("loadtest_" + System.nanoTime(),
+                                                                                   "--greenlease.threads.mode=" + execution);
+        try {
+            long start = System.nanoTime();
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            CatalogGenerator.generate(jdbcTemplate, spec);
+            BenchmarkContext.refreshReadModels(context);
+            System.out.printf("Seeded %d landlords, %d properties, %d reviews in %d ms%n",
+                              spec.landlords, spec.properties, spec.feedback, (System.nanoTime() - start) / 1_000_000);
+
+            Transport transport = transportName.equals("http") ? new HttpTransport(context) : new MockMvcTransport(context);
+            LoadDriver driver = new LoadDriver(transport,
+                jdbcTemplate.queryForObject("SELECT MIN(id) FROM properties", Long.class),
+                jdbcTemplate.queryForObject("SELECT MAX(id) FROM properties", Long.class));
+            Report report = driver.run(threads, warmupSeconds, durationSeconds, mix, spec.seed);
+            System.out.printf("%ntransport=%s execution=%s (Java %s)", transportName, execution, Runtime.version());
+            report.print(System.out, threads, durationSeconds);
+            printBudgetViolations(context.getBean(MeterRegistry.class));
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Over HTTP a request that broke its @QueryBudget has usually sent its 200 already, so list
+     * the filter's violation counts (warmup included) rather than rely on the status codes
+     */
+    private static void printBudgetViolations(MeterRegistry registry) {
+        for (Counter counter : registry.find("greenlease.request.budget.exceeded").counters()) {
+            System.out.printf("Query budget exceeded: %s (%s) %d times%n", counter.getId().getTag("uri"),
+                              counter.getId().getTag("reason"), (long) counter.count());
+        }
+    }
+
+    private Report run(int threads, int warmupSeconds, int durationSeconds, double[] mix, long seed)
+            throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmupSeconds * 1_000_000_000L;
+        long stopAt = measureFrom + durationSeconds * 1_000_000_000L;
+        List<Recorder> recorders = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        for (int t = 0; t < threads; t++) {
+            Recorder recorder = new Recorder();
+            recorders.add(recorder);
+            SplittableRandom random = new SplittableRandom(seed + t);
+            Thread client = new Thread(() -> {
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < stopAt) {
+                        Operation operation = pick(mix, random);
+                        boolean ok = execute(operation, random);
+                        long elapsed = System.nanoTime() - now;
+                        if (now >= measureFrom) {
+                            recorder.record(operation, elapsed, ok);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + t);
+            client.setDaemon(true);
+            client.start();
+        }
+        done.await();
+        if (failure.get() != null) {
+            throw new IllegalStateException("Load client failed", failure.get());
+        }
+        return Report.merge(recorders);
+    }
+
+    private boolean execute(Operation operation, SplittableRandom random) {
+        try {
+            return transport.perform(request(operation, random)) < 400;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private Request request(Operation operation, SplittableRandom random) {
+        switch (operation) {
+            case HOME:
+                return Request.get("/");
+            case LIST:
+                // Browsing, sometimes narrowed by the filter form
+                if (random.nextInt(3) == 0) {
+                    return Request.get("/properties").param("city", city(random))
+                                  .param("minEcoScore", String.valueOf(4 + random.nextInt(4)));
+                }
+                return Request.get("/properties");
+            case DETAIL:
+                return Request.get("/properties/" + popularPropertyId(random));
+            case SEARCH:
+                switch (random.nextInt(4)) {
+                    case 0:
+                        return Request.get("/properties").param("q", KEYWORDS[random.nextInt(KEYWORDS.length)]);
+                    case 1:
+                        return Request.get("/api/search/cities")
+                                      .param("query", CITY_PREFIXES[random.nextInt(CITY_PREFIXES.length)]);
+                    case 2: {
+                        Object[] city = CatalogGenerator.CITIES[random.nextInt(CatalogGenerator.CITIES.length)];
+                        return Request.get("/api/search/nearby").param("lat", String.valueOf(city[2]))
+                                      .param("lon", String.valueOf(city[3]))
+                                      .param("radiusKm", "5");
+                    }
+                    default:
+                        return Request.get("/properties").param("minRent", "800").param("maxRent", "2500")
+                                      .param("bedrooms", String.valueOf(1 + random.nextInt(3)));
+                }
+            case FEEDBACK:
+            default:
+                int overall = 1 + random.nextInt(5);
+                return Request.post("/feedback/add")
+                    .param("propertyId", String.valueOf(popularPropertyId(random)))
+                    .param("tenantName", "Load Tester")
+                    .param("tenantEmail", "load@example.com")
+                    .param("overallRating", String.valueOf(overall))
+                    .param("ecoRating", String.valueOf(random.nextInt(6)))
+                    .param("isRecommended", String.valueOf(overall >= 4))
+                    .param("insulationExperience", String.valueOf(random.nextInt(6)))
+                    .param("energyBillSatisfaction", String.valueOf(random.nextInt(6)))
+                    .param("comment", "Generated by the load driver.");
+        }
+    }
+
+    private long popularPropertyId(SplittableRandom random) {
+        // Traffic concentrates on a small set of listings
+        double u = random.nextDouble();
+        return minId + (long) ((maxId - minId + 1) * u * u * u);
+    }
+
+    private static String city(SplittableRandom random) {
+        return (String) CatalogGenerator.CITIES[random.nextInt(CatalogGenerator.CITIES.length)][0];
+    }
+
+    private static Operation pick(double[] mix, SplittableRandom random) {
+        double pick = random.nextDouble();
+        for (Operation operation : Operation.values()) {
+            pick -= mix[operation.ordinal()];
+            if (pick < 0) {
+                return operation;
+            }
+        }
+        return Operation.HOME;
+    }
+
+    private static double[] parseMix(String spec) {
+        double[] weights = new double[Operation.values().length];
+        double total = 0;
+        for (String part : spec.split(",")) {
+            String[] kv = part.split(":");
+            weights[Operation.valueOf(kv[0].trim().toUpperCase()).ordinal()] = Double.parseDouble(kv[1]);
+        }
+        for (double weight : weights) {
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Empty request mix: " + spec);
+        }
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] /= total;
+        }
+        return weights;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Transport-neutral request: method, path below the context path, and parameters
+     */
+    private static final class Request {
+        final boolean post;
+        final String path;
+        final Map<String, String> params = new LinkedHashMap<>();
+
+        private Request(boolean post, String path) {
+            this.post = post;
+            this.path = path;
+        }
+
+        static Request get(String path) {
+            return new Request(false, path);
+        }
+
+        static Request post(String path) {
+            return new Request(true, path);
+        }
+
+        Request param(String name, String value) {
+            params.put(name, value);
+            return this;
+        }
+    }
+
+    private interface Transport {
+        /**
+         * HTTP status of the response
+         */
+        int perform(Request request) throws Exception;
+    }
+
+    /**
+     * Through the DispatcherServlet in process, authenticated as a mock user
+     */
+    private static class MockMvcTransport implements Transport {
+        private final MockMvc mvc;
+
+        MockMvcTransport(ConfigurableApplicationContext context) {
+            mvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .defaultRequest(MockMvcRequestBuilders.get("/").with(user("loadtest")))
+                .build();
+        }
+
+        @Override
+        public int perform(Request request) throws Exception {
+            MockHttpServletRequestBuilder builder = request.post
+                ? MockMvcRequestBuilders.post(request.path) : MockMvcRequestBuilders.get(request.path);
+            request.params.forEach(builder::param);
+            return mvc.perform(builder).andReturn().getResponse().getStatus();
+        }
+    }
+
+    /**
+     * Over HTTP to the embedded server, sharing one logged-in session
+     */
+    private static class HttpTransport implements Transport {
+        private final HttpClient client = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+        private final String baseUrl;
+
+        HttpTransport(ConfigurableApplicationContext context) throws Exception {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port + context.getEnvironment().getProperty("server.servlet.context-path", "");
+            perform(Request.post("/register").param("username", "loadtest").param("password", "loadtest")
+                        .param("confirmPassword", "loadtest").param("email", "loadtest@example.com"));
+            HttpResponse<Void> login = send(Request.post("/login").param("username", "loadtest")
+                                                .param("password", "loadtest"));
+            if (login.headers().firstValue("Location").orElse("").contains("error")) {
+                throw new IllegalStateException("Load test user could not log in");
+            }
+        }
+
+        @Override
+        public int perform(Request request) throws Exception {
+            return send(request).statusCode();
+        }
+
+        private HttpResponse<Void> send(Request request) throws Exception {
+            String form = request.params.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                          + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+            HttpRequest.Builder builder;
+            if (request.post) {
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + request.path))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form));
+            } else {
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + request.path + (form.isEmpty() ? "" : "?" + form)));
+            }
+            return client.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    /**
+     * Latencies of one client thread
+     */
+    private static class Recorder {
+        final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+        final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        final Map<Operation, Integer> errors = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, long nanos, boolean ok) {
+            int count = counts.getOrDefault(operation, 0);
+            long[] values = latencies.computeIfAbsent(operation, o -> new long[1024]);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(operation, values);
+            }
+            values[count] = nanos;
+            counts.put(operation, count + 1);
+            if (!ok) {
+                errors.merge(operation, 1, Integer::sum);
+            }
+        }
+    }
+
+    private static class Report {
+        final Map<Operation, long[]> sorted = new EnumMap<>(Operation.class);
+        final Map<Operation, Integer> errors = new EnumMap<>(Operation.class);
+
+        static Report merge(List<Recorder> recorders) {
+            Report report = new Report();
+            for (Operation operation : Operation.values()) {
+                int total = 0;
+                for (Recorder recorder : recorders) {
+                    total += recorder.counts.getOrDefault(operation, 0);
+                    report.errors.merge(operation, recorder.errors.getOrDefault(operation, 0), Integer::sum);
+                }
+                long[] all = new long[total];
+                int offset = 0;
+                for (Recorder recorder : recorders) {
+                    int count = recorder.counts.getOrDefault(operation, 0);
+                    if (count > 0) {
+                        System.arraycopy(recorder.latencies.get(operation), 0, all, offset, count);
+                        offset += count;
+                    }
+                }
+                Arrays.sort(all);
+                report.sorted.put(operation, all);
+            }
+            return report;
+        }
+
+        void print(java.io.PrintStream out, int threads, int durationSeconds) {
+            out.printf("%n%d client threads, %d s measured%n", threads, durationSeconds);
+            out.printf("%-10s %9s %7s %9s %9s %9s %9s %9s %9s %9s%n",
+                       "operation", "requests", "errors", "req/s", "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            long[] everything = new long[0];
+            int totalErrors = 0;
+            for (Operation operation : Operation.values()) {
+                long[] values = sorted.get(operation);
+                printRow(out, operation.name().toLowerCase(), values, errors.get(operation), durationSeconds);
+                long[] merged = Arrays.copyOf(everything, everything.length + values.length);
+                System.arraycopy(values, 0, merged, everything.length, values.length);
+                everything = merged;
+                totalErrors += errors.get(operation);
+            }
+            Arrays.sort(everything);
+            printRow(out, "total", everything, totalErrors, durationSeconds);
+        }
+
+        private static void printRow(java.io.PrintStream out, String name, long[] values, int errors, int seconds) {
+            if (values.length == 0) {
+                out.printf("%-10s %9d %7d%n", name, 0, errors);
+                return;
+            }
+            long sum = 0;
+            for (long value : values) {
+                sum += value;
+            }
+            out.printf("%-10s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                       name, values.length, errors, values.length / (double) seconds,
+                       sum / (double) values.length / 1e6,
+                       percentile(values, 50), percentile(values, 90), percentile(values, 99),
+                       percentile(values, 99.9), values[values.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double percent) {
+            int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+        }
+    }
+}
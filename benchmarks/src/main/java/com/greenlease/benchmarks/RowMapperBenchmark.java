@@ -0,0 +1,96 @@
+package com.greenlease.benchmarks;
+
+import com.greenlease.model.Feedback;
+import com.greenlease.model.Property;
+import com.greenlease.repository.FeedbackRepository;
+import com.greenlease.repository.PropertyRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping cost of the repositories' row mappers over a page of rows read from H2.
+ * The *Baseline benchmarks run the same query and only step through the ResultSet,
+ * so the difference to the mapper benchmarks is the mapping itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx4g"})
+public class RowMapperBenchmark {
+
+    private static final int PAGE = 1000;
+    private static final String PROPERTY_PAGE = "SELECT * FROM properties WHERE id >= ? ORDER BY id LIMIT " + PAGE;
+    private static final String FEEDBACK_PAGE = "SELECT * FROM feedback WHERE id >= ? ORDER BY id LIMIT " + PAGE;
+
+    private JdbcTemplate jdbcTemplate;
+    private RowMapper<Property> propertyRowMapper;
+    private RowMapper<Feedback> feedbackRowMapper;
+    private long minPropertyId;
+    private long maxPropertyStart;
+    private long minFeedbackId;
+    private long maxFeedbackStart;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp(BenchmarkContext app) {
+        jdbcTemplate = app.bean(JdbcTemplate.class);
+        // The mappers are private fields; read them off the (possibly proxied) repository beans
+        Object propertyRepository = AopTestUtils.getUltimateTargetObject(app.bean(PropertyRepository.class));
+        Object feedbackRepository = AopTestUtils.getUltimateTargetObject(app.bean(FeedbackRepository.class));
+        propertyRowMapper = (RowMapper<Property>) ReflectionTestUtils.getField(propertyRepository, "propertyRowMapper");
+        feedbackRowMapper = (RowMapper<Feedback>) ReflectionTestUtils.getField(feedbackRepository, "feedbackRowMapper");
+
+        minPropertyId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM properties", Long.class);
+        maxPropertyStart = Math.max(minPropertyId,
+            jdbcTemplate.queryForObject("SELECT MAX(id) FROM properties", Long.class) - PAGE);
+        minFeedbackId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM feedback", Long.class);
+        maxFeedbackStart = Math.max(minFeedbackId,
+            jdbcTemplate.queryForObject("SELECT MAX(id) FROM feedback", Long.class) - PAGE);
+    }
+
+    @Benchmark
+    public List<Property> propertyRowMapper() {
+        return jdbcTemplate.query(PROPERTY_PAGE, propertyRowMapper, randomStart(minPropertyId, maxPropertyStart));
+    }
+
+    @Benchmark
+    public void propertyBaseline(Blackhole bh) {
+        jdbcTemplate.query(PROPERTY_PAGE, rs -> { bh.consume(rs.getLong(1)); },
+                           randomStart(minPropertyId, maxPropertyStart));
+    }
+
+    @Benchmark
+    public List<Feedback> feedbackRowMapper() {
+        return jdbcTemplate.query(FEEDBACK_PAGE, feedbackRowMapper, randomStart(minFeedbackId, maxFeedbackStart));
+    }
+
+    @Benchmark
+    public void feedbackBaseline(Blackhole bh) {
+        jdbcTemplate.query(FEEDBACK_PAGE, rs -> { bh.consume(rs.getLong(1)); },
+                           randomStart(minFeedbackId, maxFeedbackStart));
+    }
+
+    private static long randomStart(long min, long max) {
+        return min + ThreadLocalRandom.current().nextLong(max - min + 1);
+    }
+}
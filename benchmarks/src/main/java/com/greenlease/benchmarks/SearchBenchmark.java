@@ -0,0 +1,100 @@
+package com.greenlease.benchmarks;
+
+import com.greenlease.controller.PropertyController;
+import com.greenlease.index.CityIndex;
+import com.greenlease.index.PropertyGeoIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The search paths of {@link PropertyController}, called on the controller bean
+ * (no HTTP or view rendering), so the numbers are query and index cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx4g"})
+public class SearchBenchmark {
+
+    private static final int PAGE_SIZE = 12;
+
+    private PropertyController controller;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext app) {
+        controller = app.bean(PropertyController.class);
+    }
+
+    @Benchmark
+    public ExtendedModelMap listAll() {
+        return list(null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public ExtendedModelMap filterCityAndEcoScore() {
+        return list(null, "Chennai", null, null, 6.0, null);
+    }
+
+    @Benchmark
+    public ExtendedModelMap filterRentAndBedrooms() {
+        return list(null, null, new BigDecimal("1000"), new BigDecimal("2500"), null, 2);
+    }
+
+    @Benchmark
+    public ExtendedModelMap keywordSearch() {
+        return list("solar terrace", null, null, null, null, null);
+    }
+
+    @Benchmark
+    public ExtendedModelMap keywordPrefixSearch() {
+        return list("gre", null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<CityIndex.CitySuggestion> citySuggestions() {
+        return controller.getCitySuggestions("ch", 5);
+    }
+
+    @Benchmark
+    public List<PropertyGeoIndex.GeoHit> nearby() {
+        return controller.searchNearby(12.9716, 77.5946, 5, "distance", 50);
+    }
+
+    @Benchmark
+    public List<PropertyGeoIndex.GeoHit> boundingBox() {
+        return controller.searchBoundingBox(12.9, 80.1, 13.2, 80.4, "eco", 200);
+    }
+
+    private ExtendedModelMap list(String query, String city, BigDecimal minRent, BigDecimal maxRent,
+                                  Double minEcoScore, Integer bedrooms) {
+        // Next-page links are built from the current request
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/greenlease/properties");
+            request.setContextPath("/greenlease");
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        }
+        ExtendedModelMap model = new ExtendedModelMap();
+        controller.listProperties(query, city, minRent, maxRent, minEcoScore, null, null, bedrooms, null, null,
+                                  null, PAGE_SIZE, model);
+        return model;
+    }
+}
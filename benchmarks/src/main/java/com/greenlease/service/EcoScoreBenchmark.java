@@ -0,0 +1,84 @@
+package com.greenlease.service;
+
+import com.greenlease.benchmarks.BenchmarkContext;
+import com.greenlease.model.EcoScoringModel;
+import com.greenlease.model.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of scoring a whole catalog: {@link PropertyService#calculateOverallEcoScore} (active model lookup
+ * plus scoring) against the bare {@link EcoScoringModel#score}. Lives in the service package because
+ * calculateOverallEcoScore is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx4g"})
+public class EcoScoreBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private PropertyService propertyService;
+    private EcoScoringModel model;
+    private Property[] properties;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startApplication("scoring_" + System.nanoTime());
+        propertyService = context.getBean(PropertyService.class);
+        model = context.getBean(EcoScoringService.class).getActiveModel();
+
+        Random random = new Random(42);
+        properties = new Property[rows];
+        for (int i = 0; i < rows; i++) {
+            Property p = new Property();
+            p.setInsulationRating(random.nextInt(11));
+            p.setSolarRating(random.nextInt(3) == 0 ? 1 + random.nextInt(10) : 0);
+            p.setWaterConservationRating(random.nextInt(11));
+            p.setEnergyEfficiencyRating(random.nextInt(11));
+            p.setGreenSpaceProximity(random.nextInt(5) == 0 ? null : Math.round(random.nextDouble() * 1000) / 100.0);
+            properties[i] = p;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void calculateOverallEcoScore(Blackhole bh) {
+        for (Property p : properties) {
+            propertyService.calculateOverallEcoScore(p);
+            bh.consume(p.getOverallEcoScore());
+        }
+    }
+
+    @Benchmark
+    public void modelScore(Blackhole bh) {
+        for (Property p : properties) {
+            bh.consume(model.score(p));
+        }
+    }
+}
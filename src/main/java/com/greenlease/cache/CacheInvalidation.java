@@ -0,0 +1,29 @@
+package com.greenlease.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Invalidation helpers for caches that sit in front of transactional writes
+ */
+public final class CacheInvalidation {
+
+    private CacheInvalidation() {}
+
+    /**
+     * Invalidate now and again once the surrounding transaction completes. The second pass
+     * drops a stale value a concurrent reader may have cached between the write and the commit;
+     * a read still loading at that point is not cached at all (see {@link EntityCache#get}).
+     */
+    public static <K> void invalidate(EntityCache<K, ?> cache, K key) {
+        cache.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(key);
+                }
+            });
+        }
+    }
+}
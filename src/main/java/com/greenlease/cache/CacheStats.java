@@ -0,0 +1,56 @@
+package com.greenlease.cache;
+
+/**
+ * Point-in-time statistics of an {@link EntityCache}
+ */
+public class CacheStats {
+    private final String name;
+    private final long size;
+    private final long maxSize;
+    private final long hitCount;
+    private final long missCount;
+    private final long putCount;
+    private final long loadCount;
+    private final long totalLoadTimeNanos;
+    private final long sizeEvictionCount;
+    private final long expiredEvictionCount;
+
+    public CacheStats(String name, long size, long maxSize, long hitCount, long missCount,
+                      long putCount, long loadCount, long totalLoadTimeNanos, long sizeEvictionCount,
+                      long expiredEvictionCount) {
+        this.name = name;
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.loadCount = loadCount;
+        this.totalLoadTimeNanos = totalLoadTimeNanos;
+        this.sizeEvictionCount = sizeEvictionCount;
+        this.expiredEvictionCount = expiredEvictionCount;
+    }
+
+    public String getName() { return name; }
+    public long getSize() { return size; }
+    public long getMaxSize() { return maxSize; }
+    public long getHitCount() { return hitCount; }
+    public long getMissCount() { return missCount; }
+    public long getPutCount() { return putCount; }
+    public long getLoadCount() { return loadCount; }
+    public long getTotalLoadTimeNanos() { return totalLoadTimeNanos; }
+    public long getSizeEvictionCount() { return sizeEvictionCount; }
+    public long getExpiredEvictionCount() { return expiredEvictionCount; }
+
+    public long getEvictionCount() {
+        return sizeEvictionCount + expiredEvictionCount;
+    }
+
+    public double getHitRatio() {
+        long requests = hitCount + missCount;
+        return requests > 0 ? (double) hitCount / requests : 0.0;
+    }
+
+    public double getAverageLoadMillis() {
+        return loadCount > 0 ? totalLoadTimeNanos / 1_000_000.0 / loadCount : 0.0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.greenlease.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Second-level cache in front of a repository's primary-key lookups.
+ *
+ * The default implementation is {@link InMemoryEntityCache}; a bean of this type with
+ * the same name replaces it (for example one backed by an external cache service).
+ */
+public interface EntityCache<K, V> {
+
+    String getName();
+
+    /**
+     * Cached value, or null on a miss
+     */
+    V getIfPresent(K key);
+
+    void put(K key, V value);
+
+    void invalidate(K key);
+
+    /**
+     * Drop every entry whose value matches, e.g. children of a deleted parent
+     */
+    void invalidateIf(Predicate<V> predicate);
+
+    void invalidateAll();
+
+    long size();
+
+    CacheStats stats();
+
+    /**
+     * Cached value, loading and caching it on a miss. A null load result is not cached, nor is one
+     * whose key was invalidated while it loaded: it may predate a write that was just committed.
+     */
+    V get(K key, Function<K, V> loader);
+
+    /**
+     * Cached values of the given keys, loading the missing ones with one call to {@code loader}
+     * and caching them. Keys the loader returns no value for are absent from the result.
+     */
+    Map<K, V> getAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader);
+}
@@ -0,0 +1,302 @@
+package com.greenlease.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded in-process cache with least-recently-used eviction once {@code maxSize} is reached
+ * and expiry {@code ttl} after an entry was written. With a weigher, {@code maxSize} bounds the
+ * total weight of the entries (e.g. their approximate bytes) instead of their number.
+ * Access is serialized on the cache; loads run outside the lock so a slow query
+ * never blocks readers of other keys. A load whose key is invalidated while it runs is returned
+ * to its caller but not cached, since it may have read the row before the write committed.
+ */
+public class InMemoryEntityCache<K, V> implements EntityCache<K, V> {
+
+    private final String name;
+    private final long maxSize;
+    private final long ttlNanos;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final HashMap<K, Load> loading = new HashMap<>();
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadTimeNanos = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder expiredEvictions = new LongAdder();
+
+    public InMemoryEntityCache(String name, long maxSize, Duration ttl) {
+        this(name, maxSize, ttl, value -> 1);
+    }
+
+    public InMemoryEntityCache(String name, long maxSize, Duration ttl, ToLongFunction<V> weigher) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.weigher = weigher;
+        // Access order, so iteration starts at the least recently used entry
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && isExpired(entry, System.nanoTime())) {
+                removed(entries.remove(key));
+                expiredEvictions.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+
+    @Override
+    public V get(K key, Function<K, V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation;
+        synchronized (entries) {
+            generation = loading.computeIfAbsent(key, k -> new Load()).start();
+        }
+        V loaded = null;
+        try {
+            long start = System.nanoTime();
+            loaded = loader.apply(key);
+            loads.increment();
+            loadTimeNanos.add(System.nanoTime() - start);
+        } finally {
+            loadFinished(key, generation, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+        Map<K, V> found = new HashMap<>();
+        List<K> missing = new ArrayList<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            V cached = getIfPresent(key);
+            if (cached != null) {
+                found.put(key, cached);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+        long[] generations = new long[missing.size()];
+        synchronized (entries) {
+            for (int i = 0; i < generations.length; i++) {
+                generations[i] = loading.computeIfAbsent(missing.get(i), k -> new Load()).start();
+            }
+        }
+        Map<K, V> loaded = Map.of();
+        try {
+            long start = System.nanoTime();
+            loaded = loader.apply(missing);
+            loads.add(missing.size());
+            loadTimeNanos.add(System.nanoTime() - start);
+        } finally {
+            for (int i = 0; i < generations.length; i++) {
+                loadFinished(missing.get(i), generations[i], loaded.get(missing.get(i)));
+            }
+        }
+        found.putAll(loaded);
+        return found;
+    }
+
+    /**
+     * Cache a loaded value unless its key was invalidated after the load started
+     */
+    private void loadFinished(K key, long generation, V loaded) {
+        Entry<V> entry = loaded != null ? newEntry(loaded) : null;
+        boolean stored = false;
+        synchronized (entries) {
+            Load load = loading.get(key);
+            boolean current = load.generation == generation;
+            if (--load.inFlight == 0) {
+                loading.remove(key);
+            }
+            if (entry != null && current) {
+                store(key, entry);
+                stored = true;
+            }
+        }
+        if (stored) {
+            puts.increment();
+        }
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Entry<V> entry = newEntry(value);
+        synchronized (entries) {
+            store(key, entry);
+        }
+        puts.increment();
+    }
+
+    @Override
+    public void invalidate(K key) {
+        synchronized (entries) {
+            removed(entries.remove(key));
+            Load load = loading.get(key);
+            if (load != null) {
+                load.generation++;
+            }
+        }
+    }
+
+    @Override
+    public void invalidateIf(Predicate<V> predicate) {
+        synchronized (entries) {
+            Iterator<Entry<V>> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry<V> entry = it.next();
+                if (predicate.test(entry.value)) {
+                    removed(entry);
+                    it.remove();
+                }
+            }
+            // The values being loaded are unknown yet, so none of them may be cached
+            staleLoads();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+            staleLoads();
+        }
+    }
+
+    /**
+     * Drop expired entries; called periodically so idle entries don't hold memory until touched
+     */
+    public void cleanUp() {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Iterator<Entry<V>> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry<V> entry = it.next();
+                if (isExpired(entry, now)) {
+                    removed(entry);
+                    it.remove();
+                    expiredEvictions.increment();
+                }
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Total weight of the entries; their number unless the cache was built with a weigher
+     */
+    public long weight() {
+        synchronized (entries) {
+            return weight;
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(name, size(), maxSize, hits.sum(), misses.sum(), puts.sum(), loads.sum(),
+                              loadTimeNanos.sum(), sizeEvictions.sum(), expiredEvictions.sum());
+    }
+
+    private Entry<V> newEntry(V value) {
+        return new Entry<>(value, System.nanoTime(), weigher.applyAsLong(value));
+    }
+
+    private void store(K key, Entry<V> entry) {
+        removed(entries.put(key, entry));
+        weight += entry.weight;
+        Iterator<Entry<V>> eldest = entries.values().iterator();
+        while (weight > maxSize && eldest.hasNext()) {
+            removed(eldest.next());
+            eldest.remove();
+            sizeEvictions.increment();
+        }
+    }
+
+    private void staleLoads() {
+        for (Load load : loading.values()) {
+            load.generation++;
+        }
+    }
+
+    private void removed(Entry<V> entry) {
+        if (entry != null) {
+            weight -= entry.weight;
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return now - entry.writtenAtNanos > ttlNanos;
+    }
+
+    /**
+     * Loads of one key in flight; invalidating the key bumps the generation they started with
+     */
+    private static class Load {
+        int inFlight;
+        long generation;
+
+        long start() {
+            inFlight++;
+            return generation;
+        }
+    }
+
+    private static class Entry<V> {
+        final V value;
+        final long writtenAtNanos;
+        final long weight;
+
+        Entry(V value, long writtenAtNanos, long weight) {
+            this.value = value;
+            this.writtenAtNanos = writtenAtNanos;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.greenlease.config;
+
+import com.greenlease.cache.EntityCache;
+import com.greenlease.cache.InMemoryEntityCache;
+import com.greenlease.metrics.EntityCacheMetrics;
+import com.greenlease.model.Feedback;
+import com.greenlease.model.Property;
+import com.greenlease.model.User;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Second-level entity caches in front of the repositories' id lookups.
+ * Each default can be replaced by declaring an {@link EntityCache} bean with the same name.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Autowired
+    private ObjectProvider<EntityCache<?, ?>> caches;
+
+    @Bean
+    @ConditionalOnMissingBean(name = "propertyCache")
+    public EntityCache<Long, Property> propertyCache(
+            @Value("${greenlease.cache.property.max-size:10000}") long maxSize,
+            @Value("${greenlease.cache.property.ttl:10m}") Duration ttl) {
+        return new InMemoryEntityCache<>("property", maxSize, ttl);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "feedbackCache")
+    public EntityCache<Long, Feedback> feedbackCache(
+            @Value("${greenlease.cache.feedback.max-size:10000}") long maxSize,
+            @Value("${greenlease.cache.feedback.ttl:10m}") Duration ttl) {
+        return new InMemoryEntityCache<>("feedback", maxSize, ttl);
+    }
+
+    /**
+     * Users by username for the login path. Writes through this instance invalidate their entry;
+     * the TTL bounds how long a role or password changed elsewhere is served stale.
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "userCache")
+    public EntityCache<String, User> userCache(
+            @Value("${greenlease.cache.user.max-size:10000}") long maxSize,
+            @Value("${greenlease.cache.user.ttl:5m}") Duration ttl) {
+        return new InMemoryEntityCache<>("user", maxSize, ttl);
+    }
+
+    /**
+     * Rendered HTML fragments (see {@link com.greenlease.view.FragmentRenderer}), bounded by their
+     * approximate size in memory rather than by count
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "fragmentCache")
+    public EntityCache<String, String> fragmentCache(
+            @Value("${greenlease.cache.fragment.max-size:32MB}") DataSize maxSize,
+            @Value("${greenlease.cache.fragment.ttl:30m}") Duration ttl) {
+        // Two bytes per char plus the entry overhead
+        return new InMemoryEntityCache<>("fragment", maxSize.toBytes(), ttl, html -> 64L + 2L * html.length());
+    }
+
+    /**
+     * Hit/miss, eviction and size meters for every entity cache
+     */
+    @Bean
+    public MeterBinder entityCacheMetrics() {
+        return registry -> caches.forEach(cache -> new EntityCacheMetrics(cache).bindTo(registry));
+    }
+
+    /**
+     * Expired entries are otherwise only dropped when read, so sweep them periodically
+     */
+    @Scheduled(fixedDelayString = "${greenlease.cache.cleanup-interval-ms:60000}")
+    public void cleanUpExpired() {
+        caches.forEach(cache -> {
+            if (cache instanceof InMemoryEntityCache<?, ?> inMemory) {
+                inMemory.cleanUp();
+            }
+        });
+    }
+}
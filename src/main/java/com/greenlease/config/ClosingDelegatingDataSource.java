@@ -0,0 +1,33 @@
+package com.greenlease.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Base for data source wrappers that are registered in place of the pool they wrap. Wrapping hides
+ * the pool's own close method from the container, so {@link #close()} forwards it on shutdown.
+ */
+public abstract class ClosingDelegatingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    protected ClosingDelegatingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (SQLException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new SQLException("Could not close " + closeable, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.greenlease.config;
+
+import com.greenlease.concurrency.ConnectionLimitingDataSource;
+import com.greenlease.concurrency.VirtualThreads;
+import com.greenlease.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * {@code greenlease.threads.mode=virtual}: Tomcat runs each request, and so its repository calls,
+ * on a new virtual thread instead of its platform thread pool, and connection borrowing is limited
+ * by a {@link ConnectionLimitingDataSource} per connection pool, sized to that pool.
+ * Requires Java 21; on older runtimes the mode logs a warning and keeps platform threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "greenlease.threads.mode", havingValue = "virtual")
+public class ExecutionModeConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> VirtualThreads.newThreadPerTaskExecutor("http-vt-").ifPresentOrElse(
+            protocolHandler::setExecutor,
+            () -> log.warn("greenlease.threads.mode=virtual needs Java 21 or later (running {}), "
+                           + "using platform request threads", Runtime.version()));
+    }
+
+    /**
+     * Permits default to the Hikari maximum pool size, so waiting happens on the semaphore rather
+     * than inside the pool. With a read replica each pool gets its own limiter, so reads routed to
+     * the replica do not use up the primary's permits.
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        int configuredPermits = environment.getProperty("greenlease.threads.jdbc-permits", Integer.class, 0);
+        long maxWaitMillis = environment.getProperty("greenlease.threads.jdbc-permit-timeout-ms", Long.class, 30000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || isLimited(dataSource)) {
+                    return bean;
+                }
+                ReplicaRoutingDataSource routing = unwrap(dataSource, ReplicaRoutingDataSource.class);
+                if (routing != null) {
+                    routing.wrapPools(pool -> limit(pool, configuredPermits, maxWaitMillis));
+                    return bean;
+                }
+                return limit(dataSource, configuredPermits, maxWaitMillis);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPermitMetrics(DataSource dataSource) {
+        return registry -> {
+            for (DataSource target : routedTargets(dataSource)) {
+                ConnectionLimitingDataSource limiter = unwrap(target, ConnectionLimitingDataSource.class);
+                if (limiter != null) {
+                    Gauge.builder("greenlease.jdbc.permits.waiting", limiter, ConnectionLimitingDataSource::getQueueLength)
+                        .description("Requests waiting for a database connection permit")
+                        .tag("pool", poolName(limiter.getTargetDataSource()))
+                        .register(registry);
+                }
+            }
+        };
+    }
+
+    private static ConnectionLimitingDataSource limit(DataSource dataSource, int configuredPermits,
+                                                      long maxWaitMillis) {
+        HikariDataSource hikari = hikari(dataSource);
+        int permits = configuredPermits;
+        if (permits <= 0) {
+            // Hikari reports -1 until the pool starts and applies its default of 10
+            permits = hikari != null && hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : 10;
+        }
+        log.info("Limiting concurrent database connections of pool {} to {}", poolName(dataSource), permits);
+        return new ConnectionLimitingDataSource(dataSource, permits, maxWaitMillis);
+    }
+
+    /**
+     * The pools' limiters are behind the routing data source when a replica is configured
+     */
+    private static List<DataSource> routedTargets(DataSource dataSource) {
+        ReplicaRoutingDataSource routing = unwrap(dataSource, ReplicaRoutingDataSource.class);
+        return routing != null ? routing.getTargets() : List.of(dataSource);
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        return DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+    }
+
+    private static String poolName(DataSource dataSource) {
+        HikariDataSource hikari = hikari(dataSource);
+        return hikari != null && hikari.getPoolName() != null ? hikari.getPoolName() : "default";
+    }
+
+    private static boolean isLimited(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ConnectionLimitingDataSource.class);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
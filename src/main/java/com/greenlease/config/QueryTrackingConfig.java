@@ -0,0 +1,54 @@
+package com.greenlease.config;
+
+import com.greenlease.metrics.QueryBudgetFilter;
+import com.greenlease.metrics.QueryTrackingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request statement counting, duplicate statement warnings, slow query logging and
+ * {@link com.greenlease.metrics.QueryBudget} checks
+ */
+@Configuration
+@ConditionalOnProperty(name = "greenlease.jdbc.query-tracking.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryTrackingConfig {
+
+    /**
+     * Wraps the application's data source so every statement is timed
+     */
+    @Bean
+    public static BeanPostProcessor queryTrackingDataSourcePostProcessor(Environment environment) {
+        long thresholdMillis = environment.getProperty("greenlease.jdbc.slow-query-threshold-ms", Long.class, 200L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryTrackingDataSource)) {
+                    return new QueryTrackingDataSource(dataSource, thresholdMillis);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Ahead of Spring Security, so statements run while authenticating count towards the request
+     */
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${greenlease.query-budget.fail-on-exceed:false}") boolean failOnExceed) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+            new FilterRegistrationBean<>(new QueryBudgetFilter(meterRegistry, failOnExceed));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
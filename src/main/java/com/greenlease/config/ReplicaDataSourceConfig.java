@@ -0,0 +1,69 @@
+package com.greenlease.config;
+
+import com.greenlease.routing.ReadYourWritesFilter;
+import com.greenlease.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+/**
+ * Enabled by {@code greenlease.datasource.replica.url}: reads marked
+ * {@link com.greenlease.routing.ReadFromReplica} go to a read replica pool, everything else to the
+ * primary ({@code spring.datasource.*}), with read-your-writes stickiness per session.
+ *
+ * Both pools live inside the single {@link ReplicaRoutingDataSource} bean, so query tracking wraps
+ * the routed data source once, as it would a plain pool. The connection limiter instead wraps each
+ * pool inside it, so each gets permits sized to its own pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "greenlease.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSourceConfig.class);
+
+    @Bean
+    @Primary
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties primaryProperties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        DataSourceProperties replicaProperties = binder.bind("greenlease.datasource.replica",
+                                                             DataSourceProperties.class).get();
+        HikariDataSource primary = pool(primaryProperties, binder, "spring.datasource.hikari", "primary");
+        HikariDataSource replica = pool(replicaProperties, binder, "greenlease.datasource.replica.hikari", "replica");
+        log.info("Routing read-only queries to replica {}", replica.getJdbcUrl());
+        return new ReplicaRoutingDataSource(primary, replica);
+    }
+
+    /**
+     * Before the query budget filter and Spring Security, so every statement of a write request
+     * goes to the primary
+     */
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${greenlease.datasource.replica.sticky-seconds:5}") long stickySeconds) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+            new FilterRegistrationBean<>(new ReadYourWritesFilter(stickySeconds * 1000));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, String hikariPrefix,
+                                         String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(hikariPrefix, Bindable.ofInstance(pool));
+        if (pool.getPoolName() == null) {
+            pool.setPoolName(name);
+        }
+        return pool;
+    }
+}
@@ -1,13 +1,18 @@
 package com.greenlease.config;
 
+import com.greenlease.security.BoundedPasswordEncoder;
 import com.greenlease.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -17,9 +22,18 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * BCrypt at the configured strength (existing hashes keep verifying at their own strength),
+     * run on a bounded pool so login bursts can't take every CPU from page rendering
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${greenlease.security.bcrypt-strength:10}") int strength,
+            @Value("${greenlease.security.password-threads:0}") int threads,
+            @Value("${greenlease.security.password-queue:200}") int queueCapacity,
+            @Value("${greenlease.security.password-timeout-ms:5000}") long timeoutMillis) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, timeoutMillis);
     }
 
     @Bean
@@ -27,6 +41,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userService);
         authProvider.setPasswordEncoder(passwordEncoder);
+        // Rehash on the next successful login after the strength is raised
+        authProvider.setUserDetailsPasswordService(userService);
         return authProvider;
     }
 
@@ -35,6 +51,26 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * Actuator endpoints: health checks stay open, metrics (route, SQL and cache timings) need a
+     * METRICS or ADMIN account over HTTP Basic, which is what Prometheus scrapers send
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(new AntPathRequestMatcher("/actuator/**"))
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers(new AntPathRequestMatcher("/actuator/health/**")).permitAll()
+                .anyRequest().hasAnyRole("METRICS", "ADMIN")
+            )
+            .httpBasic(Customizer.withDefaults())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .csrf(csrf -> csrf.disable());
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -47,8 +83,21 @@ public class SecurityConfig {
                 ).permitAll()
                 .requestMatchers(
                     new AntPathRequestMatcher("/login"),
-                    new AntPathRequestMatcher("/register")
+                    new AntPathRequestMatcher("/register"),
+                    new AntPathRequestMatcher("/error") // so a 401 or 403 reaches the client as such
                 ).permitAll()
+                // Full-table exports, and bulk imports under any landlord; grant with UPDATE users SET role = 'ADMIN'
+                .requestMatchers(
+                    new AntPathRequestMatcher("/api/export/**"),
+                    new AntPathRequestMatcher("/api/properties/import")
+                ).hasRole("ADMIN")
+                // Changing the scoring model or starting a rescore rewrites the whole catalog
+                .requestMatchers(
+                    new AntPathRequestMatcher("/api/eco-scoring/models", "POST"),
+                    new AntPathRequestMatcher("/api/eco-scoring/models/*/activate", "POST"),
+                    new AntPathRequestMatcher("/api/eco-scoring/rescore", "POST"),
+                    new AntPathRequestMatcher("/api/eco-scoring/rescore/pause", "POST")
+                ).hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .formLogin(form -> form
@@ -3,12 +3,17 @@ package com.greenlease.controller;
 import com.greenlease.model.User;
 import com.greenlease.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
 //authentication
 @Controller
 public class AuthController {
@@ -47,43 +52,44 @@ public class AuthController {
     }
 
     /**
-     * Process registration
+     * Process registration. Hashing and the insert complete asynchronously, so the request
+     * thread is released while BCrypt runs.
      */
     @PostMapping("/register")
-    public String processRegistration(@RequestParam String username,
-                                     @RequestParam String password,
-                                     @RequestParam String confirmPassword,
-                                     @RequestParam String email,
-                                     Model model) {
-        try {
-            // Validate password match
-            if (!password.equals(confirmPassword)) {
-                model.addAttribute("error", "Passwords do not match");
-                model.addAttribute("user", new User());
-                return "auth/register";
-            }
-
-            // Validate password length
-            if (password.length() < 6) {
-                model.addAttribute("error", "Password must be at least 6 characters long");
-                model.addAttribute("user", new User());
-                return "auth/register";
-            }
+    public CompletableFuture<String> processRegistration(@RequestParam String username,
+                                                        @RequestParam String password,
+                                                        @RequestParam String confirmPassword,
+                                                        @RequestParam String email,
+                                                        Model model) {
+        // Validate password match
+        if (!password.equals(confirmPassword)) {
+            return CompletableFuture.completedFuture(registrationError(model, "Passwords do not match"));
+        }
 
-            // Register the user
-            userService.registerUser(username, password, email);
-            
-            model.addAttribute("success", "Registration successful! Please login.");
-            return "redirect:/login?registered";
-            
-        } catch (IllegalArgumentException e) {
-            model.addAttribute("error", e.getMessage());
-            model.addAttribute("user", new User());
-            return "auth/register";
-        } catch (Exception e) {
-            model.addAttribute("error", "Registration failed: " + e.getMessage());
-            model.addAttribute("user", new User());
-            return "auth/register";
+        // Validate password length
+        if (password.length() < 6) {
+            return CompletableFuture.completedFuture(
+                registrationError(model, "Password must be at least 6 characters long"));
         }
+
+        // Register the user
+        return userService.registerUser(username, password, email)
+            .thenApply(user -> "redirect:/login?registered")
+            .exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof IllegalArgumentException || cause instanceof AuthenticationException) {
+                    return registrationError(model, cause.getMessage());
+                }
+                if (cause instanceof TimeoutException) {
+                    return registrationError(model, "Registration is busy, please try again");
+                }
+                return registrationError(model, "Registration failed: " + cause.getMessage());
+            });
+    }
+
+    private String registrationError(Model model, String message) {
+        model.addAttribute("error", message);
+        model.addAttribute("user", new User());
+        return "auth/register";
     }
 }
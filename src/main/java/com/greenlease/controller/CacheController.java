@@ -0,0 +1,26 @@
+package com.greenlease.controller;
+
+import com.greenlease.cache.CacheStats;
+import com.greenlease.cache.EntityCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+/**
+ * Exposes entity cache statistics (hit ratio, evictions, load time)
+ */
+@Controller
+public class CacheController {
+
+    @Autowired
+    private List<EntityCache<?, ?>> caches;
+
+    @GetMapping("/api/cache/stats")
+    @ResponseBody
+    public List<CacheStats> getCacheStats() {
+        return caches.stream().map(EntityCache::stats).toList();
+    }
+}
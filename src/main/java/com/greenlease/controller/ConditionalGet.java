@@ -0,0 +1,36 @@
+package com.greenlease.controller;
+
+import com.greenlease.model.ContentVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GET for handlers that can read a {@link ContentVersion} before their content.
+ *
+ * Responses are marked {@code private, no-cache}: browsers keep them but revalidate each time,
+ * which then costs only the version lookup. Without it Spring Security's default
+ * {@code no-store} would stop browsers from ever sending If-None-Match.
+ */
+@Component
+public class ConditionalGet {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    // Part of every ETag, so a new release never answers 304 with an old template
+    @Value("${app.version:}")
+    private String appVersion;
+
+    /**
+     * Set the validators on the response and report whether the client's copy is current, in
+     * which case the response is already a 304 and the handler should return null
+     */
+    public boolean isNotModified(ServletWebRequest request, ContentVersion version) {
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return request.checkNotModified("\"" + appVersion + "-" + version.getTag() + "\"", version.getLastModified());
+    }
+}
@@ -0,0 +1,94 @@
+package com.greenlease.controller;
+
+import com.greenlease.model.EcoRescoreJob;
+import com.greenlease.model.EcoScoringModel;
+import com.greenlease.service.EcoRescoringService;
+import com.greenlease.service.EcoScoringService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Manage eco scoring model versions and the background rescoring job
+ */
+@Controller
+public class EcoScoringController {
+
+    @Autowired
+    private EcoScoringService ecoScoringService;
+
+    @Autowired
+    private EcoRescoringService ecoRescoringService;
+
+    @GetMapping("/api/eco-scoring/models")
+    @ResponseBody
+    public List<EcoScoringModel> getModels() {
+        return ecoScoringService.getAllModels();
+    }
+
+    /**
+     * Store new weights, make them active and rescore every property
+     */
+    @PostMapping("/api/eco-scoring/models")
+    @ResponseBody
+    public EcoRescoreJob createModel(@RequestBody EcoScoringModel model) {
+        EcoScoringModel created;
+        try {
+            created = ecoScoringService.createModel(model);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return activate(created.getVersion());
+    }
+
+    /**
+     * Switch to a stored model version (e.g. roll back) and rescore every property
+     */
+    @PostMapping("/api/eco-scoring/models/{version}/activate")
+    @ResponseBody
+    public EcoRescoreJob activate(@PathVariable Long version) {
+        if (ecoRescoringService.getStatus().filter(job -> EcoRescoreJob.RUNNING.equals(job.getStatus())).isPresent()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A rescoring job is running; pause it first");
+        }
+        try {
+            ecoScoringService.activate(version);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        return startRescore();
+    }
+
+    /**
+     * Start rescoring with the active model, or resume its paused or failed job
+     */
+    @PostMapping("/api/eco-scoring/rescore")
+    @ResponseBody
+    public EcoRescoreJob startRescore() {
+        try {
+            return ecoRescoringService.start();
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    @PostMapping("/api/eco-scoring/rescore/pause")
+    @ResponseBody
+    public ResponseEntity<EcoRescoreJob> pauseRescore() {
+        return ResponseEntity.of(ecoRescoringService.pause());
+    }
+
+    @GetMapping("/api/eco-scoring/rescore")
+    @ResponseBody
+    public ResponseEntity<EcoRescoreJob> getRescoreStatus() {
+        return ResponseEntity.of(ecoRescoringService.getStatus());
+    }
+}
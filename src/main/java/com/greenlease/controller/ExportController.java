@@ -0,0 +1,56 @@
+package com.greenlease.controller;
+
+import com.greenlease.service.ExportService;
+import com.greenlease.service.ExportService.Format;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Full-table exports written straight to the response as rows are read
+ */
+@Controller
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @GetMapping("/api/export/properties")
+    public void exportProperties(@RequestParam(value = "format", defaultValue = "csv") String format,
+                                 HttpServletResponse response) throws IOException {
+        Format exportFormat = parseFormat(format);
+        prepare(response, exportFormat, "properties");
+        exportService.exportProperties(exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/api/export/feedback")
+    public void exportFeedback(@RequestParam(value = "format", defaultValue = "csv") String format,
+                               HttpServletResponse response) throws IOException {
+        Format exportFormat = parseFormat(format);
+        prepare(response, exportFormat, "feedback");
+        exportService.exportFeedback(exportFormat, response.getOutputStream());
+    }
+
+    private static Format parseFormat(String format) {
+        try {
+            return Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+    }
+
+    private static void prepare(HttpServletResponse response, Format format, String name) {
+        boolean csv = format == Format.CSV;
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                           "attachment; filename=\"" + name + (csv ? ".csv" : ".ndjson") + "\"");
+    }
+}
@@ -1,5 +1,7 @@
 package com.greenlease.controller;
 
+import com.greenlease.metrics.QueryBudget;
+import com.greenlease.model.CursorPage;
 import com.greenlease.model.Feedback;
 import com.greenlease.model.Property;
 import com.greenlease.service.FeedbackService;
@@ -8,6 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.Optional;
 
@@ -22,10 +26,14 @@ public class FeedbackController {
     @Autowired
     private PropertyService propertyService;
     
+    @Autowired
+    private ConditionalGet conditionalGet;
+    
     /**
      * Show feedback form for a property
      */
     @GetMapping("/add/{propertyId}")
+    @QueryBudget(1)
     public String showFeedbackForm(@PathVariable Long propertyId, Model model) {
         Optional<Property> propertyOpt = propertyService.getPropertyById(propertyId);
         
@@ -48,6 +56,7 @@ public class FeedbackController {
      * Process feedback submission
      */
     @PostMapping("/add")
+    @QueryBudget(3)
     public String submitFeedback(@ModelAttribute Feedback feedback, Model model) {
         try {
             @SuppressWarnings("unused")
@@ -71,13 +80,24 @@ public class FeedbackController {
     @GetMapping("/manage")
     public String manageFeedback(
             @RequestParam(value = "propertyId", required = false) Long propertyId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "" + FeedbackService.DEFAULT_PAGE_SIZE) int size,
             Model model) {
         
-        var feedbacks = propertyId != null ? 
-            feedbackService.getFeedbackByPropertyId(propertyId) : 
-            feedbackService.getAllFeedback();
+        CursorPage<Feedback> page;
+        try {
+            page = propertyId != null ? 
+                feedbackService.getFeedbackByPropertyId(propertyId, cursor, size) : 
+                feedbackService.getAllFeedback(cursor, size);
+        } catch (IllegalArgumentException e) {
+            return "redirect:/feedback/manage" + (propertyId != null ? "?propertyId=" + propertyId : "");
+        }
             
-        model.addAttribute("feedbacks", feedbacks);
+        model.addAttribute("feedbacks", page.getItems());
+        model.addAttribute("nextPageUrl", page.isHasNext()
+            ? ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", page.getNextCursor()).build().toUriString()
+            : null);
         model.addAttribute("selectedPropertyId", propertyId);
         model.addAttribute("pageTitle", "Manage Feedback - GreenLease");
         
@@ -103,11 +123,16 @@ public class FeedbackController {
     }
     
     /**
-     * API endpoint to get feedback statistics
+     * API endpoint to get feedback statistics; pollers holding the current version get a 304
      */
     @GetMapping("/api/stats/{propertyId}")
     @ResponseBody
-    public FeedbackService.FeedbackStatistics getFeedbackStats(@PathVariable Long propertyId) {
+    @QueryBudget(2)
+    public FeedbackService.FeedbackStatistics getFeedbackStats(@PathVariable Long propertyId,
+                                                               ServletWebRequest webRequest) {
+        if (conditionalGet.isNotModified(webRequest, feedbackService.getFeedbackStatisticsVersion(propertyId))) {
+            return null;
+        }
         return feedbackService.getFeedbackStatistics(propertyId);
     }
 }
@@ -0,0 +1,43 @@
+package com.greenlease.controller;
+
+import com.greenlease.service.LandlordService;
+import com.greenlease.service.LandlordService.LeaderboardEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Landlord leaderboards, read straight from the maintained per-landlord aggregates
+ */
+@Controller
+public class LandlordController {
+
+    @Autowired
+    private LandlordService landlordService;
+
+    /**
+     * Top landlords. sort=score ranks by average eco score, sort=listings by number of listings.
+     */
+    @GetMapping("/api/landlords/leaderboard")
+    @ResponseBody
+    public List<LeaderboardEntry> getLeaderboard(@RequestParam(value = "sort", defaultValue = "score") String sort,
+                                                 @RequestParam(value = "minProperties", defaultValue = "1") int minProperties,
+                                                 @RequestParam(value = "verifiedOnly", defaultValue = "false") boolean verifiedOnly,
+                                                 @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        boolean byListings;
+        if ("score".equalsIgnoreCase(sort)) {
+            byListings = false;
+        } else if ("listings".equalsIgnoreCase(sort)) {
+            byListings = true;
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort: " + sort);
+        }
+        return landlordService.getLeaderboard(byListings, minProperties, verifiedOnly, limit);
+    }
+}
@@ -1,12 +1,27 @@
 package com.greenlease.controller;
 
+import com.greenlease.index.CityIndex;
+import com.greenlease.index.PropertyGeoIndex;
+import com.greenlease.metrics.QueryBudget;
+import com.greenlease.model.ContentVersion;
+import com.greenlease.model.CursorPage;
+import com.greenlease.model.Feedback;
 import com.greenlease.model.Property;
+import com.greenlease.model.PropertySearchCriteria;
+import com.greenlease.model.PropertySummary;
 import com.greenlease.service.PropertyService;
+import com.greenlease.repository.PropertyDetailRepository.PropertyDetail;
 import com.greenlease.service.FeedbackService;
+import com.greenlease.service.HomeSnapshotService;
+import com.greenlease.service.PropertyDetailService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -17,11 +32,26 @@ import java.util.Optional;
 @RequestMapping("/")
 public class PropertyController {
     
+    private static final double MAX_RADIUS_KM = 500.0;
+    private static final int MAX_GEO_RESULTS = 500;
+    
     @Autowired
     private PropertyService propertyService;
     
     @Autowired
-    private FeedbackService feedbackService;
+    private PropertyDetailService propertyDetailService;
+    
+    @Autowired
+    private HomeSnapshotService homeSnapshotService;
+    
+    @Autowired
+    private CityIndex cityIndex;
+    
+    @Autowired
+    private PropertyGeoIndex geoIndex;
+    
+    @Autowired
+    private ConditionalGet conditionalGet;
     
     /**
      * Redirect /greenlease to home page
@@ -35,69 +65,137 @@ public class PropertyController {
      * Home page - displays featured eco-friendly properties
      */
     @GetMapping("/")
+    @QueryBudget(3)
     public String home(Model model) {
-        List<Property> featuredProperties = propertyService.getEcoExcellentProperties();
-        PropertyService.EcoStatistics stats = propertyService.getEcoStatistics();
+        HomeSnapshotService.HomeSnapshot snapshot = homeSnapshotService.getSnapshot();
         
-        model.addAttribute("featuredProperties", featuredProperties);
-        model.addAttribute("stats", stats);
+        model.addAttribute("featuredProperties", snapshot.getFeaturedProperties());
+        model.addAttribute("stats", snapshot.getStats());
         model.addAttribute("pageTitle", "GreenLease - Find Your Eco-Friendly Home");
         
         return "index";
     }
 
     @GetMapping("/properties")
+    @QueryBudget(3)
     public String listProperties(
+            @RequestParam(value = "q", required = false) String query,
             @RequestParam(value = "city", required = false) String city,
             @RequestParam(value = "minRent", required = false) BigDecimal minRent,
             @RequestParam(value = "maxRent", required = false) BigDecimal maxRent,
             @RequestParam(value = "minEcoScore", required = false) Double minEcoScore,
             @RequestParam(value = "maxEcoScore", required = false) Double maxEcoScore,
             @RequestParam(value = "solarPanels", required = false) Boolean solarPanels,
+            @RequestParam(value = "bedrooms", required = false) Integer bedrooms,
+            @RequestParam(value = "bathrooms", required = false) Integer bathrooms,
+            @RequestParam(value = "propertyType", required = false) String propertyType,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "" + PropertyService.DEFAULT_PAGE_SIZE) int size,
             Model model) {
         
-        List<Property> properties;
-        
-        // Apply filters based on parameters
-        if (city != null && !city.trim().isEmpty()) {
-            properties = propertyService.searchByCity(city);
-            model.addAttribute("searchCity", city);
-        } else if (minRent != null && maxRent != null) {
-            properties = propertyService.filterByRent(minRent, maxRent);
-            model.addAttribute("minRent", minRent);
-            model.addAttribute("maxRent", maxRent);
-        } else if (minEcoScore != null && maxEcoScore != null) {
-            properties = propertyService.filterByEcoScore(minEcoScore, maxEcoScore);
-            model.addAttribute("minEcoScore", minEcoScore);
-            model.addAttribute("maxEcoScore", maxEcoScore);
-        } else if (solarPanels != null) {
-            properties = propertyService.filterBySolarPanels(solarPanels);
-            model.addAttribute("solarFilter", solarPanels);
-        } else {
-            properties = propertyService.getAvailableProperties();
-        }
+        // All filters are combined into one query
+        PropertySearchCriteria criteria = new PropertySearchCriteria();
+        criteria.setCity(city);
+        criteria.setMinRent(minRent);
+        criteria.setMaxRent(maxRent);
+        criteria.setMinEcoScore(minEcoScore);
+        criteria.setMaxEcoScore(maxEcoScore);
+        criteria.setSolarPanels(solarPanels);
+        criteria.setMinBedrooms(bedrooms);
+        criteria.setMinBathrooms(bathrooms);
+        criteria.setPropertyType(propertyType);
+        
+        // A keyword search is ranked by relevance and takes precedence over the filters
+        boolean keywordSearch = query != null && !query.isBlank();
+        CursorPage<PropertySummary> page = keywordSearch
+                ? textSearchPage(query, cursor, size)
+                : searchPage(criteria, cursor, size);
         
-        model.addAttribute("properties", properties);
+        model.addAttribute("properties", page.getItems());
+        model.addAttribute("nextPageUrl", nextPageUrl(page));
+        model.addAttribute("searchQuery", keywordSearch ? query.trim() : null);
+        model.addAttribute("criteria", criteria);
+        model.addAttribute("searchCity", criteria.getCity());
+        model.addAttribute("minRent", minRent);
+        model.addAttribute("maxRent", maxRent);
+        model.addAttribute("minEcoScore", minEcoScore);
+        model.addAttribute("maxEcoScore", maxEcoScore);
+        model.addAttribute("solarFilter", solarPanels);
         model.addAttribute("pageTitle", "Browse Properties - GreenLease");
         
         return "properties/list";
     }
 
+    /**
+     * Fetch one page of search results; a stale or tampered cursor restarts from the first page
+     */
+    private CursorPage<PropertySummary> searchPage(PropertySearchCriteria criteria, String cursor, int size) {
+        try {
+            return propertyService.searchProperties(criteria, cursor, size);
+        } catch (IllegalArgumentException e) {
+            return propertyService.searchProperties(criteria, null, size);
+        }
+    }
+    
+    private CursorPage<PropertySummary> textSearchPage(String query, String cursor, int size) {
+        try {
+            return propertyService.searchText(query, cursor, size);
+        } catch (IllegalArgumentException e) {
+            return propertyService.searchText(query, null, size);
+        }
+    }
+    
+    /**
+     * Link to the following page, keeping every other query parameter of the current request
+     */
+    private static String nextPageUrl(CursorPage<?> page) {
+        if (!page.isHasNext()) {
+            return null;
+        }
+        return ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", page.getNextCursor())
+                .build()
+                .toUriString();
+    }
+
+    /**
+     * Property detail page. A repeat view whose property and feedback are unchanged gets a 304
+     * after one version lookup, before the detail query and rendering.
+     */
     @GetMapping("/properties/{id}")
-    public String viewProperty(@PathVariable Long id, Model model) {
-        Optional<Property> propertyOpt = propertyService.getPropertyById(id);
+    @QueryBudget(2)
+    public String viewProperty(@PathVariable Long id,
+                               @RequestParam(value = "reviews", required = false) String reviewsCursor,
+                               ServletWebRequest webRequest,
+                               Model model) {
+        Optional<ContentVersion> version = propertyDetailService.getDetailVersion(id);
+        if (version.isEmpty()) {
+            return "redirect:/properties?error=notfound";
+        }
+        if (conditionalGet.isNotModified(webRequest, version.get())) {
+            return null;
+        }
         
-        if (propertyOpt.isEmpty()) {
+        Optional<PropertyDetail> detailOpt = propertyDetailService.getPropertyDetail(id, reviewsCursor);
+        
+        if (detailOpt.isEmpty()) {
             return "redirect:/properties?error=notfound";
         }
         
-        Property property = propertyOpt.get();
-        var feedbacks = feedbackService.getFeedbackByPropertyId(id);
-        var feedbackStats = feedbackService.getFeedbackStatistics(id);
+        PropertyDetail detail = detailOpt.get();
+        Property property = detail.getProperty();
+        CursorPage<Feedback> feedbackPage = detail.getFeedbackPage();
         
         model.addAttribute("property", property);
-        model.addAttribute("feedbacks", feedbacks);
-        model.addAttribute("feedbackStats", feedbackStats);
+        model.addAttribute("feedbacks", feedbackPage.getItems());
+        // The template builds a relative link from it: the reviews section is cached and shared, so it
+        // must not depend on the request's Host header or other query parameters
+        model.addAttribute("nextReviewsCursor", feedbackPage.isHasNext() ? feedbackPage.getNextCursor() : null);
+        model.addAttribute("feedbackStats", FeedbackService.FeedbackStatistics.of(detail.getFeedbackStats()));
+        // Every feedback change bumps the stats version, and at a given version the first review
+        // shown determines the whole page
+        model.addAttribute("feedbackSectionKey", id + "@" + detail.getFeedbackStats().getVersion() + ":"
+                + (feedbackPage.isEmpty() ? "-" : feedbackPage.getItems().get(0).getId()));
         model.addAttribute("pageTitle", property.getTitle() + " - GreenLease");
         
         return "properties/detail";
@@ -131,51 +229,107 @@ public class PropertyController {
     
 
     @GetMapping("/search/eco")
+    @QueryBudget(2)
     public String searchByEcoRating(
             @RequestParam(value = "rating", defaultValue = "excellent") String rating,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "" + PropertyService.DEFAULT_PAGE_SIZE) int size,
             Model model) {
         
-        List<Property> properties;
+        PropertySearchCriteria criteria;
         String pageTitle;
         
         switch (rating.toLowerCase()) {
             case "excellent":
-                properties = propertyService.filterByEcoScore(8.0, 10.0);
+                criteria = PropertySearchCriteria.ecoScoreRange(8.0, 10.0);
                 pageTitle = "Excellent Eco-Rating Properties (8.0-10.0) - GreenLease";
                 break;
             case "good":
-                properties = propertyService.filterByEcoScore(6.0, 7.9);
+                criteria = PropertySearchCriteria.ecoScoreRange(6.0, 7.9);
                 pageTitle = "Good Eco-Rating Properties (6.0-7.9) - GreenLease";
                 break;
             case "fair":
-                properties = propertyService.filterByEcoScore(4.0, 5.9);
+                criteria = PropertySearchCriteria.ecoScoreRange(4.0, 5.9);
                 pageTitle = "Fair Eco-Rating Properties (4.0-5.9) - GreenLease";
                 break;
             default:
-                properties = propertyService.getAvailableProperties();
+                criteria = new PropertySearchCriteria();
                 pageTitle = "All Properties - GreenLease";
         }
         
-        model.addAttribute("properties", properties);
+        CursorPage<PropertySummary> page = searchPage(criteria, cursor, size);
+        
+        model.addAttribute("properties", page.getItems());
+        model.addAttribute("nextPageUrl", nextPageUrl(page));
         model.addAttribute("pageTitle", pageTitle);
         
         return "properties/list";
     }
     
 
+    /**
+     * City autocomplete: cities whose city or state name starts with the query, most available listings first
+     */
     @GetMapping("/api/search/cities")
     @ResponseBody
-    public List<String> getCitySuggestions(@RequestParam String query) {
-        // This would typically query a cities database
-        // For demo purposes, return sample cities
-        List<String> cities = List.of(
-            "San Francisco", "Los Angeles", "New York", "Chicago", 
-            "Seattle", "Portland", "Austin", "Denver", "Boston"
-        );
-        
-        return cities.stream()
-                .filter(city -> city.toLowerCase().contains(query.toLowerCase()))
-                .limit(5)
-                .toList();
+    public List<CityIndex.CitySuggestion> getCitySuggestions(
+            @RequestParam String query,
+            @RequestParam(value = "limit", defaultValue = "5") int limit) {
+        return cityIndex.suggest(query, Math.max(1, Math.min(limit, 20)));
+    }
+    
+    /**
+     * Available properties within radiusKm of a point, nearest first (or best eco score first with sort=eco)
+     */
+    @GetMapping("/api/search/nearby")
+    @ResponseBody
+    public List<PropertyGeoIndex.GeoHit> searchNearby(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(value = "radiusKm", defaultValue = "5") double radiusKm,
+            @RequestParam(value = "sort", defaultValue = "distance") String sort,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        requireCoordinate(lat, 90, "lat");
+        requireCoordinate(lon, 180, "lon");
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "radiusKm must be in (0, " + MAX_RADIUS_KM + "]");
+        }
+        return geoIndex.findWithin(lat, lon, radiusKm, geoSort(sort), clampGeoLimit(limit));
+    }
+    
+    /**
+     * Available properties inside a map viewport, best eco score first (or nearest the centre with sort=distance)
+     */
+    @GetMapping("/api/search/bbox")
+    @ResponseBody
+    public List<PropertyGeoIndex.GeoHit> searchBoundingBox(
+            @RequestParam double south,
+            @RequestParam double west,
+            @RequestParam double north,
+            @RequestParam double east,
+            @RequestParam(value = "sort", defaultValue = "eco") String sort,
+            @RequestParam(value = "limit", defaultValue = "200") int limit) {
+        requireCoordinate(south, 90, "south");
+        requireCoordinate(north, 90, "north");
+        requireCoordinate(west, 180, "west");
+        requireCoordinate(east, 180, "east");
+        if (south > north) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "south must not be greater than north");
+        }
+        return geoIndex.findInBox(south, west, north, east, geoSort(sort), clampGeoLimit(limit));
+    }
+    
+    private static void requireCoordinate(double value, double bound, String name) {
+        if (!(value >= -bound && value <= bound)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " must be between " + -bound + " and " + bound);
+        }
+    }
+    
+    private static PropertyGeoIndex.Sort geoSort(String sort) {
+        return "eco".equalsIgnoreCase(sort) ? PropertyGeoIndex.Sort.ECO_SCORE : PropertyGeoIndex.Sort.DISTANCE;
+    }
+    
+    private static int clampGeoLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_GEO_RESULTS));
     }
 }
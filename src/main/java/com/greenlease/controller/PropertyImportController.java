@@ -0,0 +1,34 @@
+package com.greenlease.controller;
+
+import com.greenlease.service.PropertyImportService;
+import com.greenlease.service.PropertyImportService.ImportReport;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.io.IOException;
+
+/**
+ * Bulk listing upload for partners. The request body is read as a stream,
+ * so uploads of any size are never held in memory.
+ */
+@Controller
+public class PropertyImportController {
+
+    @Autowired
+    private PropertyImportService propertyImportService;
+
+    @PostMapping(value = "/api/properties/import", consumes = "text/csv")
+    @ResponseBody
+    public ImportReport importCsv(HttpServletRequest request) throws IOException {
+        return propertyImportService.importCsv(request.getInputStream());
+    }
+
+    @PostMapping(value = "/api/properties/import", consumes = {"application/json", "application/x-ndjson"})
+    @ResponseBody
+    public ImportReport importJson(HttpServletRequest request) throws IOException {
+        return propertyImportService.importJson(request.getInputStream());
+    }
+}
@@ -0,0 +1,216 @@
+package com.greenlease.index;
+
+import com.greenlease.model.Property;
+import com.greenlease.repository.PropertyRepository;
+import com.greenlease.service.PropertyChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Distinct (city, state) locations with their listing counts, for autocomplete.
+ *
+ * Names are kept in a sorted map, so a prefix lookup is a range scan over matching
+ * names only. Both city and state names are indexed, so "tam" finds cities in Tamil Nadu.
+ * Counts follow property writes through {@link PropertyChangedEvent}, and the index is rebuilt
+ * every {@code greenlease.index.refresh-ms} to pick up other instances' writes.
+ */
+@Component
+public class CityIndex extends ReloadableIndex<CityIndex.Contents> {
+
+    private static final Logger log = LoggerFactory.getLogger(CityIndex.class);
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${greenlease.index.refresh-ms:300000}",
+               initialDelayString = "${greenlease.index.refresh-ms:300000}")
+    public void load() {
+        long start = System.nanoTime();
+        Contents loaded = reload();
+        log.info("City index loaded {} locations in {} ms",
+                 loaded.locations.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    protected Contents scan() {
+        Contents contents = new Contents();
+        propertyRepository.scanLocationColumns(rs -> contents.add(rs.getLong("id"), rs.getString("city"),
+            rs.getString("state"), rs.getBoolean("is_available")));
+        return contents;
+    }
+
+    @EventListener
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        update(contents -> {
+            contents.remove(event.getPropertyId());
+            if (!event.isDeleted()) {
+                Property p = event.getProperty();
+                contents.add(p.getId(), p.getCity(), p.getState(), p.getIsAvailable() == null || p.getIsAvailable());
+            }
+        });
+    }
+
+    /**
+     * Up to {@code limit} locations whose city or state starts with the prefix,
+     * most available listings first
+     */
+    public List<CitySuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        return read(contents -> {
+            PriorityQueue<CitySuggestion> top = new PriorityQueue<>(limit, CityIndex::compareSuggestions);
+            Set<Location> seen = new HashSet<>();
+            for (Set<Location> named : contents.byName.subMap(key, true, key + Character.MAX_VALUE, false).values()) {
+                for (Location location : named) {
+                    if (location.available == 0 || !seen.add(location)) continue;
+                    CitySuggestion candidate = location.toSuggestion();
+                    if (top.size() < limit) {
+                        top.add(candidate);
+                    } else if (compareSuggestions(candidate, top.peek()) > 0) {
+                        top.poll();
+                        top.add(candidate);
+                    }
+                }
+            }
+            CitySuggestion[] ordered = new CitySuggestion[top.size()];
+            for (int i = ordered.length - 1; i >= 0; i--) {
+                ordered[i] = top.poll();
+            }
+            return List.of(ordered);
+        }, Collections.emptyList());
+    }
+
+    /**
+     * More available listings ranks higher; ties go to the alphabetically first city
+     */
+    private static int compareSuggestions(CitySuggestion a, CitySuggestion b) {
+        int byCount = Long.compare(a.getAvailableListings(), b.getAvailableListings());
+        return byCount != 0 ? byCount : b.getCity().compareToIgnoreCase(a.getCity());
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Locations and listings; guarded by the index lock once swapped in
+     */
+    static class Contents {
+        // normalized city or state name -> locations carrying that name
+        private final TreeMap<String, Set<Location>> byName = new TreeMap<>();
+        private final Map<String, Location> locations = new HashMap<>();
+        // What each property currently contributes, so an update can take back its old counts
+        private final Map<Long, Listing> listings = new HashMap<>();
+
+        private void add(long propertyId, String city, String state, boolean available) {
+            if (city == null || city.isBlank()) {
+                return;
+            }
+            String key = normalize(city) + "|" + normalize(state);
+            Location location = locations.get(key);
+            if (location == null) {
+                location = new Location(city.trim(), state != null ? state.trim() : "");
+                locations.put(key, location);
+                byName.computeIfAbsent(normalize(city), k -> new HashSet<>()).add(location);
+                if (state != null && !state.isBlank()) {
+                    byName.computeIfAbsent(normalize(state), k -> new HashSet<>()).add(location);
+                }
+            }
+            location.total++;
+            if (available) {
+                location.available++;
+            }
+            listings.put(propertyId, new Listing(key, available));
+        }
+
+        private void remove(long propertyId) {
+            Listing listing = listings.remove(propertyId);
+            if (listing == null) {
+                return;
+            }
+            Location location = locations.get(listing.locationKey);
+            location.total--;
+            if (listing.available) {
+                location.available--;
+            }
+            if (location.total == 0) {
+                locations.remove(listing.locationKey);
+                unlinkName(normalize(location.city), location);
+                unlinkName(normalize(location.state), location);
+            }
+        }
+
+        private void unlinkName(String name, Location location) {
+            Set<Location> named = byName.get(name);
+            if (named != null) {
+                named.remove(location);
+                if (named.isEmpty()) {
+                    byName.remove(name);
+                }
+            }
+        }
+    }
+
+    private static class Location {
+        final String city;
+        final String state;
+        long total;
+        long available;
+
+        Location(String city, String state) {
+            this.city = city;
+            this.state = state;
+        }
+
+        CitySuggestion toSuggestion() {
+            return new CitySuggestion(city, state, available);
+        }
+    }
+
+    private static class Listing {
+        final String locationKey;
+        final boolean available;
+
+        Listing(String locationKey, boolean available) {
+            this.locationKey = locationKey;
+            this.available = available;
+        }
+    }
+
+    /**
+     * One autocomplete entry
+     */
+    public static class CitySuggestion {
+        private final String city;
+        private final String state;
+        private final long availableListings;
+
+        public CitySuggestion(String city, String state, long availableListings) {
+            this.city = city;
+            this.state = state;
+            this.availableListings = availableListings;
+        }
+
+        public String getCity() { return city; }
+        public String getState() { return state; }
+        public long getAvailableListings() { return availableListings; }
+    }
+}
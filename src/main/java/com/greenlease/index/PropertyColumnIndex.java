@@ -0,0 +1,295 @@
+package com.greenlease.index;
+
+import com.greenlease.model.CursorPage;
+import com.greenlease.model.Property;
+import com.greenlease.model.PropertySearchCriteria;
+import com.greenlease.model.PropertySummary;
+import com.greenlease.model.SeekCursor;
+import com.greenlease.repository.PropertyRepository;
+import com.greenlease.service.EcoScoresChangedEvent;
+import com.greenlease.service.PropertyChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process, column-oriented read model of the filterable property fields.
+ *
+ * Each property occupies one slot across a set of primitive arrays and bitsets, so a
+ * search is a tight scan over memory rather than a database round trip. Only the ids
+ * on the requested page are loaded, as {@link PropertySummary} cards.
+ * Enabled with {@code greenlease.search.memory-index.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "greenlease.search.memory-index.enabled", havingValue = "true")
+public class PropertyColumnIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PropertyColumnIndex.class);
+    private static final int INITIAL_CAPACITY = 1024;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Columns, one entry per slot
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private double[] rent = new double[INITIAL_CAPACITY];
+    private double[] ecoScore = new double[INITIAL_CAPACITY];
+    private int[] bedrooms = new int[INITIAL_CAPACITY];
+    private int[] bathrooms = new int[INITIAL_CAPACITY];
+    private int[] cityCode = new int[INITIAL_CAPACITY];
+    private int[] typeCode = new int[INITIAL_CAPACITY];
+    private final BitSet solar = new BitSet();
+    private final BitSet available = new BitSet();
+    private int size;
+
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Dictionary cities = new Dictionary();
+    private final Dictionary propertyTypes = new Dictionary();
+    private volatile boolean ready;
+
+    /**
+     * Load every property once the schema has been initialized
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            clear();
+            propertyRepository.scanSearchColumns(rs -> {
+                int slot = allocateSlot(rs.getLong("id"));
+                write(slot, rs.getString("city"), rs.getDouble("rent"), rs.getString("property_type"),
+                      rs.getInt("bedrooms"), rs.getInt("bathrooms"), rs.getBoolean("solar_panels"),
+                      rs.getDouble("overall_eco_score"), rs.getBoolean("is_available"));
+            });
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Property column index loaded {} properties in {} ms",
+                 slotById.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @EventListener
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.isDeleted()) {
+                remove(event.getPropertyId());
+            } else {
+                Property p = event.getProperty();
+                Integer slot = slotById.get(p.getId());
+                write(slot != null ? slot : allocateSlot(p.getId()),
+                      p.getCity(),
+                      p.getRent() != null ? p.getRent().doubleValue() : 0.0,
+                      p.getPropertyType(),
+                      p.getBedrooms() != null ? p.getBedrooms() : 0,
+                      p.getBathrooms() != null ? p.getBathrooms() : 0,
+                      p.getSolarPanels() != null && p.getSolarPanels(),
+                      p.getOverallEcoScore() != null ? p.getOverallEcoScore() : 0.0,
+                      p.getIsAvailable() == null || p.getIsAvailable());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onEcoScoresChanged(EcoScoresChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, Double> change : event.getScoreById().entrySet()) {
+                Integer slot = slotById.get(change.getKey());
+                if (slot != null) {
+                    ecoScore[slot] = change.getValue();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Same contract as {@link PropertyRepository#search}: available properties matching every
+     * filter, ordered by eco score then id (both descending), starting after the cursor.
+     */
+    public CursorPage<PropertySummary> search(PropertySearchCriteria criteria, SeekCursor after, int limit) {
+        List<SeekCursor> keys = findKeys(criteria, after, limit + 1);
+        List<Long> pageIds = new ArrayList<>(limit);
+        for (SeekCursor key : keys.subList(0, Math.min(limit, keys.size()))) {
+            pageIds.add(key.getId());
+        }
+        List<PropertySummary> rows = propertyRepository.findSummariesById(pageIds);
+        // A listing deleted since the scan has no row, so the keys, not the rows, decide whether more follow
+        String nextCursor = keys.size() > limit ? keys.get(limit - 1).encode() : null;
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    /**
+     * Positions (eco score and id) of the first {@code limit} matches after the cursor, in result order
+     */
+    List<SeekCursor> findKeys(PropertySearchCriteria criteria, SeekCursor after, int limit) {
+        double minRent = criteria.getMinRent() != null ? criteria.getMinRent().doubleValue() : Double.NEGATIVE_INFINITY;
+        double maxRent = criteria.getMaxRent() != null ? criteria.getMaxRent().doubleValue() : Double.POSITIVE_INFINITY;
+        double minEco = criteria.getMinEcoScore() != null ? criteria.getMinEcoScore() : Double.NEGATIVE_INFINITY;
+        double maxEco = criteria.getMaxEcoScore() != null ? criteria.getMaxEcoScore() : Double.POSITIVE_INFINITY;
+        int minBeds = criteria.getMinBedrooms() != null ? criteria.getMinBedrooms() : Integer.MIN_VALUE;
+        int minBaths = criteria.getMinBathrooms() != null ? criteria.getMinBathrooms() : Integer.MIN_VALUE;
+        Boolean wantSolar = criteria.getSolarPanels();
+        double afterScore = after != null ? after.getScore().doubleValue() : Double.POSITIVE_INFINITY;
+        long afterId = after != null ? after.getId() : Long.MAX_VALUE;
+
+        // Heap ordered so that the worst of the kept candidates is on top
+        PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(1, limit), this::compareSlotsAscending);
+
+        lock.readLock().lock();
+        try {
+            BitSet cityMatches = criteria.getCity() != null ? cities.codesWithPrefix(criteria.getCity()) : null;
+            int wantType = criteria.getPropertyType() != null ? propertyTypes.codeOf(criteria.getPropertyType()) : -1;
+            if (criteria.getPropertyType() != null && wantType < 0) {
+                return new ArrayList<>();
+            }
+
+            for (int slot = available.nextSetBit(0); slot >= 0 && slot < size; slot = available.nextSetBit(slot + 1)) {
+                double eco = ecoScore[slot];
+                if (eco > afterScore || (eco == afterScore && ids[slot] >= afterId)) continue;
+                if (eco < minEco || eco > maxEco) continue;
+                if (rent[slot] < minRent || rent[slot] > maxRent) continue;
+                if (bedrooms[slot] < minBeds || bathrooms[slot] < minBaths) continue;
+                if (wantSolar != null && solar.get(slot) != wantSolar) continue;
+                if (cityMatches != null && !cityMatches.get(cityCode[slot])) continue;
+                if (wantType >= 0 && typeCode[slot] != wantType) continue;
+
+                if (top.size() < limit) {
+                    top.add(slot);
+                } else if (compareSlotsAscending(slot, top.peek()) > 0) {
+                    top.poll();
+                    top.add(slot);
+                }
+            }
+
+            SeekCursor[] result = new SeekCursor[top.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                int slot = top.poll();
+                result[i] = SeekCursor.ofScore(ecoScore[slot], ids[slot]);
+            }
+            return new ArrayList<>(Arrays.asList(result));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Orders slots so that the better result (higher eco score, then higher id) compares greater
+     */
+    private int compareSlotsAscending(int a, int b) {
+        int byScore = Double.compare(ecoScore[a], ecoScore[b]);
+        return byScore != 0 ? byScore : Long.compare(ids[a], ids[b]);
+    }
+
+    private void write(int slot, String city, double rentValue, String propertyType, int beds, int baths,
+                       boolean hasSolar, double eco, boolean isAvailable) {
+        rent[slot] = rentValue;
+        ecoScore[slot] = eco;
+        bedrooms[slot] = beds;
+        bathrooms[slot] = baths;
+        cityCode[slot] = cities.encode(city);
+        typeCode[slot] = propertyTypes.encode(propertyType);
+        solar.set(slot, hasSolar);
+        available.set(slot, isAvailable);
+    }
+
+    private int allocateSlot(long id) {
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            rent = Arrays.copyOf(rent, capacity);
+            ecoScore = Arrays.copyOf(ecoScore, capacity);
+            bedrooms = Arrays.copyOf(bedrooms, capacity);
+            bathrooms = Arrays.copyOf(bathrooms, capacity);
+            cityCode = Arrays.copyOf(cityCode, capacity);
+            typeCode = Arrays.copyOf(typeCode, capacity);
+        }
+        int slot = size++;
+        ids[slot] = id;
+        slotById.put(id, slot);
+        return slot;
+    }
+
+    /**
+     * Deleted slots are left as unavailable tombstones; a reload compacts them away
+     */
+    private void remove(Long id) {
+        Integer slot = slotById.remove(id);
+        if (slot != null) {
+            available.clear(slot);
+            solar.clear(slot);
+        }
+    }
+
+    private void clear() {
+        size = 0;
+        slotById.clear();
+        solar.clear();
+        available.clear();
+    }
+
+    /**
+     * Case-insensitive string dictionary mapping values to dense integer codes
+     */
+    private static class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            String key = normalize(value);
+            Integer code = codes.get(key);
+            if (code == null) {
+                code = values.size();
+                values.add(key);
+                codes.put(key, code);
+            }
+            return code;
+        }
+
+        int codeOf(String value) {
+            Integer code = codes.get(normalize(value));
+            return code != null ? code : -1;
+        }
+
+        BitSet codesWithPrefix(String prefix) {
+            String key = normalize(prefix);
+            BitSet matches = new BitSet(values.size());
+            for (int code = 0; code < values.size(); code++) {
+                if (values.get(code).startsWith(key)) {
+                    matches.set(code);
+                }
+            }
+            return matches;
+        }
+
+        private static String normalize(String value) {
+            return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.greenlease.index;
+
+import com.greenlease.model.Property;
+import com.greenlease.model.PropertySummary;
+import com.greenlease.repository.PropertyRepository;
+import com.greenlease.service.EcoScoresChangedEvent;
+import com.greenlease.service.PropertyChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * In-process spatial index of property locations on a fixed latitude/longitude grid.
+ *
+ * A radius or viewport query only visits the grid cells overlapping its bounding box
+ * (or, for very large areas, only the occupied cells), so the cost follows the size of
+ * the area and the listings in it rather than the size of the table.
+ * Properties without coordinates and unavailable properties are not returned. The index follows
+ * this instance's writes and is rebuilt every {@code greenlease.index.refresh-ms} to pick up others'.
+ */
+@Component
+public class PropertyGeoIndex extends ReloadableIndex<PropertyGeoIndex.Contents> {
+
+    private static final Logger log = LoggerFactory.getLogger(PropertyGeoIndex.class);
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    public enum Sort { DISTANCE, ECO_SCORE }
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Value("${greenlease.geo.cell-size-degrees:0.05}")
+    private double cellSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${greenlease.index.refresh-ms:300000}",
+               initialDelayString = "${greenlease.index.refresh-ms:300000}")
+    public void load() {
+        long start = System.nanoTime();
+        Contents loaded = reload();
+        log.info("Property geo index loaded {} locations in {} cells in {} ms",
+                 loaded.points.size(), loaded.cells.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    protected Contents scan() {
+        Contents contents = new Contents();
+        propertyRepository.scanGeoColumns(rs -> contents.add(new Point(rs.getLong("id"), rs.getDouble("latitude"),
+            rs.getDouble("longitude"), rs.getDouble("overall_eco_score"), rs.getBoolean("is_available"))));
+        return contents;
+    }
+
+    @EventListener
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        update(contents -> {
+            contents.remove(event.getPropertyId());
+            Property p = event.getProperty();
+            if (!event.isDeleted() && p.hasLocation()) {
+                contents.add(new Point(p.getId(), p.getLatitude(), p.getLongitude(),
+                                       p.getOverallEcoScore() != null ? p.getOverallEcoScore() : 0.0,
+                                       p.getIsAvailable() == null || p.getIsAvailable()));
+            }
+        });
+    }
+
+    @EventListener
+    public void onEcoScoresChanged(EcoScoresChangedEvent event) {
+        update(contents -> {
+            for (Map.Entry<Long, Double> change : event.getScoreById().entrySet()) {
+                Point point = contents.points.get(change.getKey());
+                if (point != null) {
+                    contents.remove(point.id);
+                    contents.add(new Point(point.id, point.lat, point.lon, change.getValue(), point.available));
+                }
+            }
+        });
+    }
+
+    /**
+     * Available properties within {@code radiusKm} of the point, up to {@code limit}
+     */
+    public List<GeoHit> findWithin(double lat, double lon, double radiusKm, Sort sort, int limit) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        double lonDelta = cosLat > 1e-9 ? Math.min(180.0, latDelta / cosLat) : 180.0;
+        double south = Math.max(-90.0, lat - latDelta);
+        double north = Math.min(90.0, lat + latDelta);
+        double west = lonDelta >= 180.0 ? -180.0 : normalizeLongitude(lon - lonDelta);
+        double east = lonDelta >= 180.0 ? 180.0 : normalizeLongitude(lon + lonDelta);
+
+        return hydrate(read(contents -> {
+            TopHits top = new TopHits(sort, limit);
+            contents.visit(south, west, north, east, point -> {
+                double distance = distanceKm(lat, lon, point.lat, point.lon);
+                if (distance <= radiusKm) {
+                    top.offer(point, distance);
+                }
+            });
+            return top.ordered();
+        }, List.of()));
+    }
+
+    /**
+     * Available properties inside a map viewport, up to {@code limit}. Distances are measured
+     * from the viewport centre. A viewport whose west edge is east of its east edge crosses
+     * the antimeridian.
+     */
+    public List<GeoHit> findInBox(double south, double west, double north, double east, Sort sort, int limit) {
+        double centerLat = (south + north) / 2;
+        double centerLon = west <= east ? (west + east) / 2 : normalizeLongitude((west + east + 360) / 2);
+
+        return hydrate(read(contents -> {
+            TopHits top = new TopHits(sort, limit);
+            contents.visit(south, west, north, east,
+                           point -> top.offer(point, distanceKm(centerLat, centerLon, point.lat, point.lon)));
+            return top.ordered();
+        }, List.of()));
+    }
+
+    private List<GeoHit> hydrate(List<Map.Entry<Point, Double>> ordered) {
+        List<Long> ids = new ArrayList<>(ordered.size());
+        for (Map.Entry<Point, Double> hit : ordered) {
+            ids.add(hit.getKey().id);
+        }
+        // Card fields only: a pan must not read every description or push hot entries out of the property cache
+        Map<Long, PropertySummary> byId = new HashMap<>();
+        for (PropertySummary summary : propertyRepository.findSummariesById(ids)) {
+            byId.put(summary.getId(), summary);
+        }
+        List<GeoHit> hits = new ArrayList<>(ordered.size());
+        for (Map.Entry<Point, Double> hit : ordered) {
+            Point point = hit.getKey();
+            PropertySummary summary = byId.get(point.id);
+            if (summary != null) {
+                hits.add(new GeoHit(summary, point.lat, point.lon, hit.getValue()));
+            }
+        }
+        return hits;
+    }
+
+    private long cellIndex(double degrees) {
+        return (long) Math.floor(degrees / cellSize);
+    }
+
+    private static long cellKey(long row, long col) {
+        return (row << 32) ^ (col & 0xffffffffL);
+    }
+
+    private static double normalizeLongitude(double lon) {
+        double wrapped = ((lon + 180.0) % 360.0 + 360.0) % 360.0 - 180.0;
+        return wrapped == -180.0 && lon > 0 ? 180.0 : wrapped;
+    }
+
+    /**
+     * Great-circle distance (haversine)
+     */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                 + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Grid cells and points; guarded by the index lock once swapped in
+     */
+    class Contents {
+        private final Map<Long, List<Point>> cells = new HashMap<>();
+        private final Map<Long, Point> points = new HashMap<>();
+
+        /**
+         * Visit available points inside the box, walking either the overlapping grid cells
+         * or, when that would be more cells than are occupied, the occupied cells
+         */
+        private void visit(double south, double west, double north, double east, Consumer<Point> visitor) {
+            boolean wraps = west > east;
+            long rows = cellIndex(north) - cellIndex(south) + 1;
+            long cols = wraps
+                ? (cellIndex(180.0) - cellIndex(west) + 1) + (cellIndex(east) - cellIndex(-180.0) + 1)
+                : cellIndex(east) - cellIndex(west) + 1;
+
+            Consumer<List<Point>> scanCell = cell -> {
+                for (Point point : cell) {
+                    if (point.available && point.lat >= south && point.lat <= north
+                            && (wraps ? point.lon >= west || point.lon <= east : point.lon >= west && point.lon <= east)) {
+                        visitor.accept(point);
+                    }
+                }
+            };
+
+            if (rows * cols > cells.size()) {
+                cells.values().forEach(scanCell);
+                return;
+            }
+            for (long row = cellIndex(south); row <= cellIndex(north); row++) {
+                if (wraps) {
+                    scanColumns(row, cellIndex(west), cellIndex(180.0), scanCell);
+                    scanColumns(row, cellIndex(-180.0), cellIndex(east), scanCell);
+                } else {
+                    scanColumns(row, cellIndex(west), cellIndex(east), scanCell);
+                }
+            }
+        }
+
+        private void scanColumns(long row, long fromCol, long toCol, Consumer<List<Point>> scanCell) {
+            for (long col = fromCol; col <= toCol; col++) {
+                List<Point> cell = cells.get(cellKey(row, col));
+                if (cell != null) {
+                    scanCell.accept(cell);
+                }
+            }
+        }
+
+        private void add(Point point) {
+            points.put(point.id, point);
+            cells.computeIfAbsent(cellKey(cellIndex(point.lat), cellIndex(point.lon)), k -> new ArrayList<>()).add(point);
+        }
+
+        private void remove(Long id) {
+            Point point = points.remove(id);
+            if (point == null) {
+                return;
+            }
+            long key = cellKey(cellIndex(point.lat), cellIndex(point.lon));
+            List<Point> cell = cells.get(key);
+            if (cell != null) {
+                cell.remove(point);
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+    }
+
+    private static class Point {
+        final long id;
+        final double lat;
+        final double lon;
+        final double ecoScore;
+        final boolean available;
+
+        Point(long id, double lat, double lon, double ecoScore, boolean available) {
+            this.id = id;
+            this.lat = lat;
+            this.lon = lon;
+            this.ecoScore = ecoScore;
+            this.available = available;
+        }
+    }
+
+    /**
+     * Bounded selection of the best hits; the worst kept hit sits on top of the heap
+     */
+    private static class TopHits {
+        private final Comparator<Map.Entry<Point, Double>> better;
+        private final PriorityQueue<Map.Entry<Point, Double>> heap;
+        private final int limit;
+
+        TopHits(Sort sort, int limit) {
+            Comparator<Map.Entry<Point, Double>> byDistance = Comparator.comparingDouble(Map.Entry::getValue);
+            Comparator<Map.Entry<Point, Double>> byEco = Comparator.comparingDouble(e -> -e.getKey().ecoScore);
+            Comparator<Map.Entry<Point, Double>> order = sort == Sort.ECO_SCORE
+                ? byEco.thenComparing(byDistance) : byDistance.thenComparing(byEco);
+            this.better = order.thenComparingLong(e -> e.getKey().id);
+            this.heap = new PriorityQueue<>(Math.max(1, limit), better.reversed());
+            this.limit = limit;
+        }
+
+        void offer(Point point, double distance) {
+            Map.Entry<Point, Double> hit = Map.entry(point, distance);
+            if (heap.size() < limit) {
+                heap.add(hit);
+            } else if (limit > 0 && better.compare(hit, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+
+        List<Map.Entry<Point, Double>> ordered() {
+            List<Map.Entry<Point, Double>> result = new ArrayList<>(heap);
+            result.sort(better);
+            return result;
+        }
+    }
+
+    /**
+     * A property card with its map position and distance from the query point (or viewport centre)
+     */
+    public static class GeoHit {
+        private final PropertySummary property;
+        private final double latitude;
+        private final double longitude;
+        private final double distanceKm;
+
+        public GeoHit(PropertySummary property, double latitude, double longitude, double distanceKm) {
+            this.property = property;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.distanceKm = distanceKm;
+        }
+
+        public PropertySummary getProperty() { return property; }
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public double getDistanceKm() { return distanceKm; }
+    }
+}
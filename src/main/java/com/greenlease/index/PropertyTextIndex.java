@@ -0,0 +1,336 @@
+package com.greenlease.index;
+
+import com.greenlease.model.CursorPage;
+import com.greenlease.model.Property;
+import com.greenlease.model.PropertySummary;
+import com.greenlease.model.SeekCursor;
+import com.greenlease.repository.PropertyRepository;
+import com.greenlease.service.EcoScoresChangedEvent;
+import com.greenlease.service.PropertyChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over property title, description, address and city.
+ *
+ * Every query term must match; the last term also matches as a prefix so results
+ * update while typing. A query only touches the postings of its own terms, so its cost
+ * follows how many listings match rather than the size of the catalog.
+ * Text relevance is blended with the overall eco score (see {@code greenlease.search.text.eco-weight}).
+ * The index is rebuilt every {@code greenlease.index.refresh-ms} to pick up other instances' writes.
+ */
+@Component
+@ConditionalOnProperty(name = "greenlease.search.text-index.enabled", havingValue = "true", matchIfMissing = true)
+public class PropertyTextIndex extends ReloadableIndex<PropertyTextIndex.Contents> {
+
+    private static final Logger log = LoggerFactory.getLogger(PropertyTextIndex.class);
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "at", "by", "for", "from", "in", "is", "of", "on", "or", "the", "to", "with");
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float CITY_WEIGHT = 2.0f;
+    private static final float ADDRESS_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+    private static final double TF_SATURATION = 1.2;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Value("${greenlease.search.text.eco-weight:0.3}")
+    private double ecoWeight;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${greenlease.index.refresh-ms:300000}",
+               initialDelayString = "${greenlease.index.refresh-ms:300000}")
+    public void load() {
+        long start = System.nanoTime();
+        Contents loaded = reload();
+        log.info("Property text index loaded {} properties, {} terms in {} ms",
+                 loaded.documents.size(), loaded.postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    protected Contents scan() {
+        Contents contents = new Contents();
+        propertyRepository.scanTextColumns(rs -> contents.index(rs.getLong("id"), rs.getString("title"),
+            rs.getString("description"), rs.getString("address"), rs.getString("city"),
+            rs.getDouble("overall_eco_score"), rs.getBoolean("is_available")));
+        return contents;
+    }
+
+    @EventListener
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        update(contents -> {
+            contents.remove(event.getPropertyId());
+            if (!event.isDeleted()) {
+                Property p = event.getProperty();
+                contents.index(p.getId(), p.getTitle(), p.getDescription(), p.getAddress(), p.getCity(),
+                               p.getOverallEcoScore() != null ? p.getOverallEcoScore() : 0.0,
+                               p.getIsAvailable() == null || p.getIsAvailable());
+            }
+        });
+    }
+
+    @EventListener
+    public void onEcoScoresChanged(EcoScoresChangedEvent event) {
+        update(contents -> {
+            for (Map.Entry<Long, Double> change : event.getScoreById().entrySet()) {
+                Document doc = contents.documents.get(change.getKey());
+                if (doc != null) {
+                    contents.documents.put(change.getKey(), new Document(doc.terms, change.getValue(), doc.available));
+                }
+            }
+        });
+    }
+
+    /**
+     * Available properties matching every term of the query, best blended score first.
+     * The cursor carries the blended score, which is stable while the index is unchanged.
+     */
+    public CursorPage<PropertySummary> search(String query, SeekCursor after, int limit) {
+        Map<Long, Double> scores = findScores(query, after, limit + 1);
+        List<Long> ids = new ArrayList<>(scores.keySet());
+        List<PropertySummary> rows = propertyRepository.findSummariesById(ids.subList(0, Math.min(limit, ids.size())));
+        // A listing deleted since it was indexed has no row, so the ids, not the rows, decide whether more follow
+        String nextCursor = null;
+        if (ids.size() > limit) {
+            Long last = ids.get(limit - 1);
+            nextCursor = SeekCursor.ofScore(scores.get(last), last).encode();
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    /**
+     * Ids and blended scores of the first {@code limit} matches after the cursor, in result order
+     */
+    Map<Long, Double> findScores(String query, SeekCursor after, int limit) {
+        List<String> terms = new ArrayList<>(tokenize(query));
+        Map<Long, Double> result = new LinkedHashMap<>();
+        if (terms.isEmpty()) {
+            return result;
+        }
+        double afterScore = after != null ? after.getScore().doubleValue() : Double.POSITIVE_INFINITY;
+        long afterId = after != null ? after.getId() : Long.MAX_VALUE;
+
+        return read(contents -> {
+            Map<Long, Double> textScores = null;
+            for (int i = 0; i < terms.size(); i++) {
+                Map<Long, Double> termScores = contents.scoreTerm(terms.get(i), i == terms.size() - 1);
+                if (textScores == null) {
+                    textScores = termScores;
+                } else {
+                    Map<Long, Double> both = new HashMap<>();
+                    for (Map.Entry<Long, Double> e : termScores.entrySet()) {
+                        Double previous = textScores.get(e.getKey());
+                        if (previous != null) {
+                            both.put(e.getKey(), previous + e.getValue());
+                        }
+                    }
+                    textScores = both;
+                }
+                if (textScores.isEmpty()) {
+                    return result;
+                }
+            }
+
+            double maxText = 0.0;
+            for (Map.Entry<Long, Double> e : textScores.entrySet()) {
+                if (contents.documents.get(e.getKey()).available) {
+                    maxText = Math.max(maxText, e.getValue());
+                }
+            }
+
+            // Keep the best `limit` candidates; the worst kept candidate sits on top of the heap
+            PriorityQueue<ScoredId> top = new PriorityQueue<>(Math.max(1, limit));
+            for (Map.Entry<Long, Double> e : textScores.entrySet()) {
+                Document doc = contents.documents.get(e.getKey());
+                if (!doc.available) continue;
+                double score = (1 - ecoWeight) * (e.getValue() / maxText) + ecoWeight * (doc.ecoScore / 10.0);
+                long id = e.getKey();
+                if (score > afterScore || (score == afterScore && id >= afterId)) continue;
+
+                ScoredId candidate = new ScoredId(id, score);
+                if (top.size() < limit) {
+                    top.add(candidate);
+                } else if (candidate.compareTo(top.peek()) > 0) {
+                    top.poll();
+                    top.add(candidate);
+                }
+            }
+
+            ScoredId[] ordered = new ScoredId[top.size()];
+            for (int i = ordered.length - 1; i >= 0; i--) {
+                ordered[i] = top.poll();
+            }
+            for (ScoredId scored : ordered) {
+                result.put(scored.id, scored.score);
+            }
+            return result;
+        }, result);
+    }
+
+    private static void addField(Map<String, Float> frequencies, String text, float weight) {
+        if (text == null) {
+            return;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (isIndexable(token)) {
+                frequencies.merge(token, weight, Float::sum);
+            }
+        }
+    }
+
+    /**
+     * Query terms without stop words, except a last term still being typed (no separator after it),
+     * which may be the start of a longer word: "the" leads to "theatre"
+     */
+    static Set<String> tokenize(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query != null) {
+            String[] tokens = TOKEN_SEPARATOR.split(query.toLowerCase(Locale.ROOT));
+            boolean typing = !query.isEmpty() && Character.isLetterOrDigit(query.charAt(query.length() - 1));
+            for (int i = 0; i < tokens.length; i++) {
+                boolean last = typing && i == tokens.length - 1;
+                if (isIndexable(tokens[i]) || (last && !tokens[i].isEmpty())) {
+                    terms.add(tokens[i]);
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static boolean isIndexable(String token) {
+        return !token.isEmpty() && !STOP_WORDS.contains(token);
+    }
+
+    /**
+     * Postings and documents; guarded by the index lock once swapped in
+     */
+    static class Contents {
+        // term -> (property id -> field-weighted term frequency)
+        private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+        private final Map<Long, Document> documents = new HashMap<>();
+
+        /**
+         * Per-property score for one query term; a prefix term also scores the terms it expands to
+         */
+        private Map<Long, Double> scoreTerm(String term, boolean prefix) {
+            Map<Long, Double> scores = new HashMap<>();
+            addPostings(scores, term, postings.get(term), 1.0);
+            if (prefix) {
+                // The most common expansions, so a short prefix keeps "green" over rarer terms sorting before it
+                PriorityQueue<Map.Entry<String, Map<Long, Float>>> expansions =
+                    new PriorityQueue<>(Comparator.comparingInt(e -> e.getValue().size()));
+                for (Map.Entry<String, Map<Long, Float>> e
+                        : postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+                    expansions.add(e);
+                    if (expansions.size() > MAX_PREFIX_EXPANSIONS) {
+                        expansions.poll();
+                    }
+                }
+                for (Map.Entry<String, Map<Long, Float>> e : expansions) {
+                    addPostings(scores, e.getKey(), e.getValue(), PREFIX_MATCH_FACTOR);
+                }
+            }
+            return scores;
+        }
+
+        private void addPostings(Map<Long, Double> scores, String term, Map<Long, Float> list, double factor) {
+            if (list == null) {
+                return;
+            }
+            double idf = Math.log(1.0 + (double) documents.size() / list.size());
+            for (Map.Entry<Long, Float> e : list.entrySet()) {
+                double tf = e.getValue();
+                double score = factor * idf * tf / (tf + TF_SATURATION);
+                scores.merge(e.getKey(), score, Math::max);
+            }
+        }
+
+        private void index(long id, String title, String description, String address, String city,
+                           double ecoScore, boolean available) {
+            Map<String, Float> frequencies = new HashMap<>();
+            addField(frequencies, title, TITLE_WEIGHT);
+            addField(frequencies, city, CITY_WEIGHT);
+            addField(frequencies, address, ADDRESS_WEIGHT);
+            addField(frequencies, description, DESCRIPTION_WEIGHT);
+
+            for (Map.Entry<String, Float> e : frequencies.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(id, e.getValue());
+            }
+            documents.put(id, new Document(frequencies.keySet().toArray(new String[0]), ecoScore, available));
+        }
+
+        private void remove(Long id) {
+            Document doc = documents.remove(id);
+            if (doc == null) {
+                return;
+            }
+            for (String term : doc.terms) {
+                Map<Long, Float> list = postings.get(term);
+                if (list != null) {
+                    list.remove(id);
+                    if (list.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Document {
+        final String[] terms;
+        final double ecoScore;
+        final boolean available;
+
+        Document(String[] terms, double ecoScore, boolean available) {
+            this.terms = terms;
+            this.ecoScore = ecoScore;
+            this.available = available;
+        }
+    }
+
+    /**
+     * Orders so that the better result (higher score, then higher id) compares greater
+     */
+    private static class ScoredId implements Comparable<ScoredId> {
+        final long id;
+        final double score;
+
+        ScoredId(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(ScoredId other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Long.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.greenlease.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Base for in-memory indexes whose contents are built by a table scan and then kept current by
+ * the change events this instance publishes.
+ *
+ * Events never reach other instances, so subclasses call {@link #reload()} on a schedule to pick
+ * up their writes. A reload scans into new contents while searches keep using the old ones;
+ * changes applied during the scan are replayed onto the new contents before they are swapped in.
+ */
+abstract class ReloadableIndex<C> {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile C contents;
+    // Changes made while a reload is scanning, or null when none is running
+    private List<Consumer<C>> pending;
+
+    /**
+     * Build complete contents from the database; called without holding the index lock
+     */
+    protected abstract C scan();
+
+    /**
+     * Rebuild the contents from the database and swap them in
+     */
+    protected synchronized C reload() {
+        write(() -> pending = new ArrayList<>());
+        C fresh;
+        try {
+            fresh = scan();
+        } catch (RuntimeException e) {
+            write(() -> pending = null);
+            throw e;
+        }
+        write(() -> {
+            pending.forEach(change -> change.accept(fresh));
+            pending = null;
+            contents = fresh;
+        });
+        return fresh;
+    }
+
+    /**
+     * Apply a change to the current contents, and to the contents a running reload is building
+     */
+    protected void update(Consumer<C> change) {
+        write(() -> {
+            if (contents != null) {
+                change.accept(contents);
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        });
+    }
+
+    /**
+     * Run a read against the current contents, or return {@code empty} before the first load
+     */
+    protected <R> R read(Function<C, R> query, R empty) {
+        lock.readLock().lock();
+        try {
+            return contents != null ? query.apply(contents) : empty;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return contents != null;
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.greenlease.metrics;
+
+import com.greenlease.cache.EntityCache;
+import com.greenlease.cache.InMemoryEntityCache;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes an {@link EntityCache}'s statistics under Micrometer's standard cache meter names
+ * ({@code cache.gets}, {@code cache.puts}, {@code cache.evictions}, {@code cache.size}),
+ * plus its capacity and load time
+ */
+public class EntityCacheMetrics extends CacheMeterBinder<EntityCache<?, ?>> {
+
+    public EntityCacheMetrics(EntityCache<?, ?> cache) {
+        super(cache, cache.getName(), Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+        EntityCache<?, ?> cache = getCache();
+        return cache != null ? cache.size() : null;
+    }
+
+    @Override
+    protected long hitCount() {
+        EntityCache<?, ?> cache = getCache();
+        return cache != null ? cache.stats().getHitCount() : 0;
+    }
+
+    @Override
+    protected Long missCount() {
+        EntityCache<?, ?> cache = getCache();
+        return cache != null ? cache.stats().getMissCount() : null;
+    }
+
+    @Override
+    protected Long evictionCount() {
+        EntityCache<?, ?> cache = getCache();
+        return cache != null ? cache.stats().getEvictionCount() : null;
+    }
+
+    @Override
+    protected long putCount() {
+        EntityCache<?, ?> cache = getCache();
+        return cache != null ? cache.stats().getPutCount() : 0;
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        EntityCache<?, ?> cache = getCache();
+        if (cache == null) {
+            return;
+        }
+        Gauge.builder("cache.max.size", cache, c -> c.stats().getMaxSize())
+            .tags(getTagsWithCacheName())
+            .description("The maximum number of entries, or total weight for weighted caches, the cache holds")
+            .register(registry);
+        if (cache instanceof InMemoryEntityCache<?, ?> inMemory) {
+            Gauge.builder("cache.weight", inMemory, InMemoryEntityCache::weight)
+                .tags(getTagsWithCacheName())
+                .description("Total weight of the cached entries (their number unless the cache is weighted)")
+                .register(registry);
+        }
+        FunctionTimer.builder("cache.loads", cache,
+                              c -> c.stats().getLoadCount(),
+                              c -> c.stats().getTotalLoadTimeNanos(), TimeUnit.NANOSECONDS)
+            .tags(getTagsWithCacheName())
+            .description("Loads of missing entries and the time spent in them")
+            .register(registry);
+    }
+}
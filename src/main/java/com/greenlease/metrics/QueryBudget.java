@@ -0,0 +1,30 @@
+package com.greenlease.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a request to this handler may execute.
+ *
+ * Checked by {@link QueryBudgetFilter} after the response is rendered: exceeding it is logged and
+ * counted, and with {@code greenlease.query-budget.fail-on-exceed=true} also fails the request for
+ * in-process callers (the MockMvc tests, the load driver's default transport).
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    /**
+     * Maximum statements per request
+     */
+    int value();
+
+    /**
+     * Whether the same SQL may run more than once in a request
+     */
+    boolean allowRepeated() default false;
+}
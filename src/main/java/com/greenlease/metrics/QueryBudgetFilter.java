@@ -0,0 +1,123 @@
+package com.greenlease.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Collects {@link RequestQueryStats} for each HTTP request and, once the response is complete,
+ * records the statement count per route ({@code greenlease.request.queries}), warns about SQL that
+ * ran repeatedly within the request, and checks the handler's {@link QueryBudget}.
+ *
+ * Every violation is counted in {@code greenlease.request.budget.exceeded}. Failing the request
+ * ({@code failOnExceed}) only reaches in-process callers such as MockMvc tests: over a real
+ * connection the rendered response has usually been sent already, so the counter is what reports it.
+ */
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean failOnExceed;
+
+    public QueryBudgetFilter(MeterRegistry meterRegistry, boolean failOnExceed) {
+        this.meterRegistry = meterRegistry;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+        }
+        if (request.isAsyncStarted()) {
+            // The handler's async work may still run statements (see RequestQueryStats#inCurrentRequest)
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    check(request, stats);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+            return;
+        }
+        check(request, stats);
+    }
+
+    private void check(HttpServletRequest request, RequestQueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = request.getMethod() + " "
+            + (pattern != null ? pattern : request.getRequestURI().substring(request.getContextPath().length()));
+        if (pattern != null) {
+            DistributionSummary.builder("greenlease.request.queries")
+                .description("SQL statements executed per request")
+                .tag("uri", pattern.toString())
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("{}: {} statements, {} ms in the database", route, stats.getStatementCount(),
+                      String.format("%.1f", stats.getTotalMillis()));
+        }
+
+        QueryBudget budget = null;
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            budget = handler.getMethodAnnotation(QueryBudget.class);
+        }
+        Map<String, Integer> repeated = stats.getRepeatedStatements();
+        if (!repeated.isEmpty() && (budget == null || !budget.allowRepeated())) {
+            repeated.forEach((sql, count) -> log.warn("{} executed the same statement {} times: {}", route, count, sql));
+            if (budget != null) {
+                exceeded(pattern, "repeated", route + " executed repeated statements: " + repeated.keySet());
+            }
+        }
+        if (budget != null && stats.getStatementCount() > budget.value()) {
+            exceeded(pattern, "statements", String.format("%s executed %d statements, over its query budget of %d",
+                                                          route, stats.getStatementCount(), budget.value()));
+        }
+    }
+
+    private void exceeded(Object pattern, String reason, String message) {
+        Counter.builder("greenlease.request.budget.exceeded")
+            .description("Requests that broke their handler's @QueryBudget")
+            .tag("uri", String.valueOf(pattern))
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+        if (!failOnExceed) {
+            log.warn(message);
+            return;
+        }
+        // Over HTTP the status is usually sent already; then only the counter and the container log see this
+        throw new IllegalStateException(message);
+    }
+}
@@ -0,0 +1,104 @@
+package com.greenlease.metrics;
+
+import com.greenlease.config.ClosingDelegatingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times every statement executed through the wrapped data source. Executions are added to the
+ * current request's {@link RequestQueryStats}, and statements slower than the threshold are
+ * logged with their SQL (parameters are never logged).
+ *
+ * Only the execute call is timed; reading a streamed result set afterwards is not included.
+ */
+public class QueryTrackingDataSource extends ClosingDelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryTrackingDataSource.class);
+
+    private final long slowQueryThresholdNanos;
+
+    public QueryTrackingDataSource(DataSource target, long slowQueryThresholdMillis) {
+        super(target);
+        this.slowQueryThresholdNanos = slowQueryThresholdMillis * 1_000_000L;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trackConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trackConnection(super.getConnection(username, password));
+    }
+
+    private Connection trackConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                // Identity semantics, as for Spring's own connection proxies
+                if (method.getName().equals("equals")) {
+                    return proxy == args[0];
+                }
+                if (method.getName().equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                }
+                Object result = invoke(connection, method, args);
+                switch (method.getName()) {
+                    case "createStatement":
+                        return trackStatement(Statement.class, (Statement) result, null);
+                    case "prepareStatement":
+                        return trackStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                    case "prepareCall":
+                        return trackStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+                    default:
+                        return result;
+                }
+            });
+    }
+
+    private Object trackStatement(Class<? extends Statement> type, Statement statement, String preparedSql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            String sql = preparedSql != null ? preparedSql
+                : args != null && args.length > 0 && args[0] instanceof String text ? text : "<batch>";
+            long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                recordExecution(sql, System.nanoTime() - start);
+            }
+        };
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private void recordExecution(String sql, long nanos) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.record(sql, nanos);
+        }
+        if (nanos >= slowQueryThresholdNanos) {
+            log.warn("Slow query ({} ms): {}", nanos / 1_000_000, sql);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
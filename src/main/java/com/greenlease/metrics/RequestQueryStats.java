@@ -0,0 +1,91 @@
+package com.greenlease.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Statements executed by the current thread while handling one HTTP request:
+ * count, accumulated database time and how often each distinct SQL string ran.
+ *
+ * Bound to the request thread by {@link QueryBudgetFilter}; statements on other threads
+ * (background jobs, async executors) are not attributed to any request unless their tasks are
+ * run through {@link #inCurrentRequest}.
+ */
+public class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statementCount;
+    private long totalNanos;
+    private final Map<String, Integer> executionsBySql = new LinkedHashMap<>();
+
+    public static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Stats of the request running on this thread, or null outside a request
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Executor whose tasks count their statements towards the request running on the calling
+     * thread, e.g. the database step of a request that completes asynchronously
+     */
+    public static Executor inCurrentRequest(Executor executor) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return executor;
+        }
+        return task -> executor.execute(() -> {
+            RequestQueryStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                CURRENT.set(previous);
+            }
+        });
+    }
+
+    void record(String sql, long nanos) {
+        statementCount++;
+        totalNanos += nanos;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    /**
+     * SQL strings executed more than once in this request (N+1 loops, reloading the same data),
+     * with their execution counts
+     */
+    public Map<String, Integer> getRepeatedStatements() {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executionsBySql.forEach((sql, count) -> {
+            if (count > 1) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+}
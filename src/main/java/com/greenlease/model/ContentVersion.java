@@ -0,0 +1,19 @@
+package com.greenlease.model;
+
+/**
+ * Cheap validator for a page or API response, read without loading the content itself.
+ * The tag changes whenever anything the response shows changes; the last-modified time
+ * is the newest change among its sources, or -1 when unknown.
+ */
+public final class ContentVersion {
+    private final String tag;
+    private final long lastModified;
+
+    public ContentVersion(String tag, long lastModified) {
+        this.tag = tag;
+        this.lastModified = lastModified;
+    }
+
+    public String getTag() { return tag; }
+    public long getLastModified() { return lastModified; }
+}
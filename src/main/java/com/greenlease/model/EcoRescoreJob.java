@@ -0,0 +1,82 @@
+package com.greenlease.model;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a background rescoring run (a row of eco_rescore_jobs)
+ */
+public class EcoRescoreJob {
+    public static final String RUNNING = "RUNNING";
+    public static final String PAUSED = "PAUSED";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    
+    private Long id;
+    private Long modelVersion;
+    private String status;
+    private long lastPropertyId; // every property up to this id has been rescored
+    private long totalCount;
+    private long processedCount;
+    private long updatedCount;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+    
+    // Constructors
+    public EcoRescoreJob() {}
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getModelVersion() { return modelVersion; }
+    public void setModelVersion(Long modelVersion) { this.modelVersion = modelVersion; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public long getLastPropertyId() { return lastPropertyId; }
+    public void setLastPropertyId(long lastPropertyId) { this.lastPropertyId = lastPropertyId; }
+    
+    public long getTotalCount() { return totalCount; }
+    public void setTotalCount(long totalCount) { this.totalCount = totalCount; }
+    
+    public long getProcessedCount() { return processedCount; }
+    public void setProcessedCount(long processedCount) { this.processedCount = processedCount; }
+    
+    public long getUpdatedCount() { return updatedCount; }
+    public void setUpdatedCount(long updatedCount) { this.updatedCount = updatedCount; }
+    
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+    
+    // Utility methods
+    public boolean isFinished() {
+        return COMPLETED.equals(status) || FAILED.equals(status);
+    }
+    
+    public double getPercentComplete() {
+        if (totalCount <= 0) {
+            return isFinished() ? 100.0 : 0.0;
+        }
+        return Math.min(100.0, processedCount * 100.0 / totalCount);
+    }
+    
+    public double getRowsPerSecond() {
+        if (startedAt == null || updatedAt == null) {
+            return 0.0;
+        }
+        long millis = Duration.between(startedAt, updatedAt).toMillis();
+        return millis > 0 ? processedCount * 1000.0 / millis : 0.0;
+    }
+}
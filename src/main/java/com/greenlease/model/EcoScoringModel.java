@@ -0,0 +1,101 @@
+package com.greenlease.model;
+import java.time.LocalDateTime;
+
+/**
+ * A versioned set of weights used to compute a property's overall eco score
+ */
+public class EcoScoringModel {
+    private Long version;
+    private String description;
+    private double insulationWeight;
+    private double solarWeight;
+    private double waterConservationWeight;
+    private double energyEfficiencyWeight;
+    private double greenSpaceWeight;
+    private double greenSpaceMaxDistance; // proximity scores max(0, this - distance)
+    private boolean active;
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public EcoScoringModel() {}
+    
+    // Getters and Setters
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public double getInsulationWeight() { return insulationWeight; }
+    public void setInsulationWeight(double insulationWeight) { this.insulationWeight = insulationWeight; }
+    
+    public double getSolarWeight() { return solarWeight; }
+    public void setSolarWeight(double solarWeight) { this.solarWeight = solarWeight; }
+    
+    public double getWaterConservationWeight() { return waterConservationWeight; }
+    public void setWaterConservationWeight(double waterConservationWeight) { 
+        this.waterConservationWeight = waterConservationWeight; 
+    }
+    
+    public double getEnergyEfficiencyWeight() { return energyEfficiencyWeight; }
+    public void setEnergyEfficiencyWeight(double energyEfficiencyWeight) { 
+        this.energyEfficiencyWeight = energyEfficiencyWeight; 
+    }
+    
+    public double getGreenSpaceWeight() { return greenSpaceWeight; }
+    public void setGreenSpaceWeight(double greenSpaceWeight) { this.greenSpaceWeight = greenSpaceWeight; }
+    
+    public double getGreenSpaceMaxDistance() { return greenSpaceMaxDistance; }
+    public void setGreenSpaceMaxDistance(double greenSpaceMaxDistance) { 
+        this.greenSpaceMaxDistance = greenSpaceMaxDistance; 
+    }
+    
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    /**
+     * Overall eco score of a property under this model, rounded to two decimals.
+     * Ratings of 0 (not rated) don't contribute.
+     */
+    public double score(Property property) {
+        double totalScore = 0.0;
+        int factorCount = 0;
+        
+        if (property.getInsulationRating() != null && property.getInsulationRating() > 0) {
+            totalScore += property.getInsulationRating() * insulationWeight;
+            factorCount++;
+        }
+        if (property.getSolarRating() != null && property.getSolarRating() > 0) {
+            totalScore += property.getSolarRating() * solarWeight;
+            factorCount++;
+        }
+        if (property.getWaterConservationRating() != null && property.getWaterConservationRating() > 0) {
+            totalScore += property.getWaterConservationRating() * waterConservationWeight;
+            factorCount++;
+        }
+        if (property.getEnergyEfficiencyRating() != null && property.getEnergyEfficiencyRating() > 0) {
+            totalScore += property.getEnergyEfficiencyRating() * energyEfficiencyWeight;
+            factorCount++;
+        }
+        // Inverse scoring (closer is better)
+        if (property.getGreenSpaceProximity() != null) {
+            double proximityScore = Math.max(0, greenSpaceMaxDistance - property.getGreenSpaceProximity());
+            totalScore += proximityScore * greenSpaceWeight;
+            factorCount++;
+        }
+        
+        return factorCount > 0 ? Math.round(totalScore * 100.0) / 100.0 : 0.0;
+    }
+    
+    @Override
+    public String toString() {
+        return "EcoScoringModel{" +
+                "version=" + version +
+                ", description='" + description + '\'' +
+                ", active=" + active +
+                '}';
+    }
+}
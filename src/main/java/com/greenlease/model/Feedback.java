@@ -35,6 +35,27 @@ public class Feedback {
         this.createdAt = LocalDateTime.now();
     }
     
+    /**
+     * Copy constructor; all fields are immutable values so a shallow copy is independent
+     */
+    public Feedback(Feedback other) {
+        this.id = other.id;
+        this.propertyId = other.propertyId;
+        this.tenantName = other.tenantName;
+        this.tenantEmail = other.tenantEmail;
+        this.overallRating = other.overallRating;
+        this.ecoRating = other.ecoRating;
+        this.comment = other.comment;
+        this.isVerified = other.isVerified;
+        this.isRecommended = other.isRecommended;
+        this.createdAt = other.createdAt;
+        this.insulationExperience = other.insulationExperience;
+        this.energyBillSatisfaction = other.energyBillSatisfaction;
+        this.solarSystemSatisfaction = other.solarSystemSatisfaction;
+        this.waterEfficiencySatisfaction = other.waterEfficiencySatisfaction;
+        this.greenSpaceSatisfaction = other.greenSpaceSatisfaction;
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -25,6 +25,10 @@ public class Property {
     private Integer solarRating; // 1-10 scale
     private Integer waterConservationRating; // 1-10 scale
     private Double greenSpaceProximity; // distance in miles
+    
+    // Location (WGS84 degrees), null when unknown
+    private Double latitude;
+    private Double longitude;
     private Integer energyEfficiencyRating; // 1-10 scale
     private Double overallEcoScore; // calculated overall score
     
@@ -34,6 +38,7 @@ public class Property {
     private Boolean isAvailable;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version; // bumped by every update
     
     // Constructors
     public Property() {}
@@ -52,6 +57,39 @@ public class Property {
         this.updatedAt = LocalDateTime.now();
     }
     
+    /**
+     * Copy constructor; all fields are immutable values so a shallow copy is independent
+     */
+    public Property(Property other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.description = other.description;
+        this.address = other.address;
+        this.city = other.city;
+        this.state = other.state;
+        this.zipCode = other.zipCode;
+        this.rent = other.rent;
+        this.propertyType = other.propertyType;
+        this.bedrooms = other.bedrooms;
+        this.bathrooms = other.bathrooms;
+        this.squareFootage = other.squareFootage;
+        this.insulationRating = other.insulationRating;
+        this.solarPanels = other.solarPanels;
+        this.solarRating = other.solarRating;
+        this.waterConservationRating = other.waterConservationRating;
+        this.greenSpaceProximity = other.greenSpaceProximity;
+        this.latitude = other.latitude;
+        this.longitude = other.longitude;
+        this.energyEfficiencyRating = other.energyEfficiencyRating;
+        this.overallEcoScore = other.overallEcoScore;
+        this.landlordId = other.landlordId;
+        this.imageUrl = other.imageUrl;
+        this.isAvailable = other.isAvailable;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.version = other.version;
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -108,6 +146,16 @@ public class Property {
         this.greenSpaceProximity = greenSpaceProximity; 
     }
     
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
+    public boolean hasLocation() {
+        return latitude != null && longitude != null;
+    }
+    
     public Integer getEnergyEfficiencyRating() { return energyEfficiencyRating; }
     public void setEnergyEfficiencyRating(Integer energyEfficiencyRating) { 
         this.energyEfficiencyRating = energyEfficiencyRating; 
@@ -131,6 +179,9 @@ public class Property {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     // Utility methods
     public String getFullAddress() {
         return String.format("%s, %s, %s %s", address, city, state, zipCode);
@@ -0,0 +1,139 @@
+package com.greenlease.model;
+import java.time.LocalDateTime;
+
+/**
+ * Running feedback aggregates for one property (a row of property_feedback_stats).
+ * Averages are derived from the stored sums and counts, so reading them is O(1)
+ * regardless of how many reviews the property has.
+ */
+public class PropertyFeedbackStats {
+    private Long propertyId;
+    private long totalCount;
+    private long verifiedCount;
+    private long recommendedCount;
+    private long ratingSum;
+    private long ecoRatingSum;
+    private long ecoRatingCount;
+    private long insulationSum;
+    private long insulationCount;
+    private long energyBillSum;
+    private long energyBillCount;
+    private long solarSystemSum;
+    private long solarSystemCount;
+    private long waterEfficiencySum;
+    private long waterEfficiencyCount;
+    private long greenSpaceSum;
+    private long greenSpaceCount;
+    private long version; // incremented on every change
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public PropertyFeedbackStats() {}
+
+    public static PropertyFeedbackStats empty(Long propertyId) {
+        PropertyFeedbackStats stats = new PropertyFeedbackStats();
+        stats.setPropertyId(propertyId);
+        return stats;
+    }
+
+    // Getters and Setters
+    public Long getPropertyId() { return propertyId; }
+    public void setPropertyId(Long propertyId) { this.propertyId = propertyId; }
+
+    public long getTotalCount() { return totalCount; }
+    public void setTotalCount(long totalCount) { this.totalCount = totalCount; }
+
+    public long getVerifiedCount() { return verifiedCount; }
+    public void setVerifiedCount(long verifiedCount) { this.verifiedCount = verifiedCount; }
+
+    public long getRecommendedCount() { return recommendedCount; }
+    public void setRecommendedCount(long recommendedCount) { this.recommendedCount = recommendedCount; }
+
+    public long getRatingSum() { return ratingSum; }
+    public void setRatingSum(long ratingSum) { this.ratingSum = ratingSum; }
+
+    public long getEcoRatingSum() { return ecoRatingSum; }
+    public void setEcoRatingSum(long ecoRatingSum) { this.ecoRatingSum = ecoRatingSum; }
+
+    public long getEcoRatingCount() { return ecoRatingCount; }
+    public void setEcoRatingCount(long ecoRatingCount) { this.ecoRatingCount = ecoRatingCount; }
+
+    public long getInsulationSum() { return insulationSum; }
+    public void setInsulationSum(long insulationSum) { this.insulationSum = insulationSum; }
+
+    public long getInsulationCount() { return insulationCount; }
+    public void setInsulationCount(long insulationCount) { this.insulationCount = insulationCount; }
+
+    public long getEnergyBillSum() { return energyBillSum; }
+    public void setEnergyBillSum(long energyBillSum) { this.energyBillSum = energyBillSum; }
+
+    public long getEnergyBillCount() { return energyBillCount; }
+    public void setEnergyBillCount(long energyBillCount) { this.energyBillCount = energyBillCount; }
+
+    public long getSolarSystemSum() { return solarSystemSum; }
+    public void setSolarSystemSum(long solarSystemSum) { this.solarSystemSum = solarSystemSum; }
+
+    public long getSolarSystemCount() { return solarSystemCount; }
+    public void setSolarSystemCount(long solarSystemCount) { this.solarSystemCount = solarSystemCount; }
+
+    public long getWaterEfficiencySum() { return waterEfficiencySum; }
+    public void setWaterEfficiencySum(long waterEfficiencySum) { this.waterEfficiencySum = waterEfficiencySum; }
+
+    public long getWaterEfficiencyCount() { return waterEfficiencyCount; }
+    public void setWaterEfficiencyCount(long waterEfficiencyCount) { this.waterEfficiencyCount = waterEfficiencyCount; }
+
+    public long getGreenSpaceSum() { return greenSpaceSum; }
+    public void setGreenSpaceSum(long greenSpaceSum) { this.greenSpaceSum = greenSpaceSum; }
+
+    public long getGreenSpaceCount() { return greenSpaceCount; }
+    public void setGreenSpaceCount(long greenSpaceCount) { this.greenSpaceCount = greenSpaceCount; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    // Utility methods
+    public double getAverageRating() {
+        return average(ratingSum, verifiedCount);
+    }
+
+    public double getAverageEcoRating() {
+        return average(ecoRatingSum, ecoRatingCount);
+    }
+
+    public double getAverageInsulationExperience() {
+        return average(insulationSum, insulationCount);
+    }
+
+    public double getAverageEnergyBillSatisfaction() {
+        return average(energyBillSum, energyBillCount);
+    }
+
+    public double getAverageSolarSystemSatisfaction() {
+        return average(solarSystemSum, solarSystemCount);
+    }
+
+    public double getAverageWaterEfficiencySatisfaction() {
+        return average(waterEfficiencySum, waterEfficiencyCount);
+    }
+
+    public double getAverageGreenSpaceSatisfaction() {
+        return average(greenSpaceSum, greenSpaceCount);
+    }
+
+    private static double average(long sum, long count) {
+        return count > 0 ? (double) sum / count : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyFeedbackStats{" +
+                "propertyId=" + propertyId +
+                ", totalCount=" + totalCount +
+                ", verifiedCount=" + verifiedCount +
+                ", version=" + version +
+                '}';
+    }
+}
@@ -0,0 +1,80 @@
+package com.greenlease.model;
+import java.math.BigDecimal;
+
+/**
+ * Combined search filters for the property listing.
+ * Every non-null field narrows the result; null fields are ignored.
+ */
+public class PropertySearchCriteria {
+    private String city;
+    private BigDecimal minRent;
+    private BigDecimal maxRent;
+    private Double minEcoScore;
+    private Double maxEcoScore;
+    private Boolean solarPanels;
+    private Integer minBedrooms;
+    private Integer minBathrooms;
+    private String propertyType;
+
+    // Constructors
+    public PropertySearchCriteria() {}
+
+    public static PropertySearchCriteria ecoScoreRange(double minScore, double maxScore) {
+        PropertySearchCriteria criteria = new PropertySearchCriteria();
+        criteria.setMinEcoScore(minScore);
+        criteria.setMaxEcoScore(maxScore);
+        return criteria;
+    }
+
+    // Getters and Setters
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = blankToNull(city); }
+
+    public BigDecimal getMinRent() { return minRent; }
+    public void setMinRent(BigDecimal minRent) { this.minRent = minRent; }
+
+    public BigDecimal getMaxRent() { return maxRent; }
+    public void setMaxRent(BigDecimal maxRent) { this.maxRent = maxRent; }
+
+    public Double getMinEcoScore() { return minEcoScore; }
+    public void setMinEcoScore(Double minEcoScore) { this.minEcoScore = minEcoScore; }
+
+    public Double getMaxEcoScore() { return maxEcoScore; }
+    public void setMaxEcoScore(Double maxEcoScore) { this.maxEcoScore = maxEcoScore; }
+
+    public Boolean getSolarPanels() { return solarPanels; }
+    public void setSolarPanels(Boolean solarPanels) { this.solarPanels = solarPanels; }
+
+    public Integer getMinBedrooms() { return minBedrooms; }
+    public void setMinBedrooms(Integer minBedrooms) { this.minBedrooms = minBedrooms; }
+
+    public Integer getMinBathrooms() { return minBathrooms; }
+    public void setMinBathrooms(Integer minBathrooms) { this.minBathrooms = minBathrooms; }
+
+    public String getPropertyType() { return propertyType; }
+    public void setPropertyType(String propertyType) { this.propertyType = blankToNull(propertyType); }
+
+    // Utility methods
+    public boolean hasFilters() {
+        return city != null || minRent != null || maxRent != null || minEcoScore != null
+                || maxEcoScore != null || solarPanels != null || minBedrooms != null
+                || minBathrooms != null || propertyType != null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    @Override
+    public String toString() {
+        return "PropertySearchCriteria{" +
+                "city='" + city + '\'' +
+                ", rent=" + minRent + ".." + maxRent +
+                ", ecoScore=" + minEcoScore + ".." + maxEcoScore +
+                ", solarPanels=" + solarPanels +
+                ", minBedrooms=" + minBedrooms +
+                ", minBathrooms=" + minBathrooms +
+                ", propertyType='" + propertyType + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,94 @@
+package com.greenlease.model;
+
+/**
+ * Immutable card view of a property for list, search and home pages.
+ * Loaded with a narrow SELECT: only the start of the description ({@link #EXCERPT_LENGTH}
+ * characters plus one, so templates can tell it was cut) and primitive fields instead of the
+ * boxed values, LocalDateTime objects and full description text of {@link Property}.
+ */
+public final class PropertySummary {
+
+    /**
+     * Longest description abbreviation shown on a card
+     */
+    public static final int EXCERPT_LENGTH = 100;
+
+    private final long id;
+    private final String title;
+    private final String excerpt;
+    private final String city;
+    private final String state;
+    private final String imageUrl;
+    private final double rent;
+    private final int bedrooms;
+    private final int bathrooms;
+    private final double squareFootage;
+    private final int insulationRating;
+    private final boolean solarPanels;
+    private final double overallEcoScore;
+    private final long version; // row version, identifies this version of the card
+
+    public PropertySummary(long id, String title, String excerpt, String city, String state, String imageUrl,
+                           double rent, int bedrooms, int bathrooms, double squareFootage,
+                           int insulationRating, boolean solarPanels, double overallEcoScore, long version) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.city = city;
+        this.state = state;
+        this.imageUrl = imageUrl;
+        this.rent = rent;
+        this.bedrooms = bedrooms;
+        this.bathrooms = bathrooms;
+        this.squareFootage = squareFootage;
+        this.insulationRating = insulationRating;
+        this.solarPanels = solarPanels;
+        this.overallEcoScore = overallEcoScore;
+        this.version = version;
+    }
+
+    /**
+     * Summary of an already loaded property, e.g. a cached one
+     */
+    public static PropertySummary of(Property property) {
+        String description = property.getDescription();
+        return new PropertySummary(
+            property.getId(),
+            property.getTitle(),
+            description != null && description.length() > EXCERPT_LENGTH + 1
+                ? description.substring(0, EXCERPT_LENGTH + 1) : description,
+            property.getCity(),
+            property.getState(),
+            property.getImageUrl(),
+            property.getRent() != null ? property.getRent().doubleValue() : 0.0,
+            property.getBedrooms() != null ? property.getBedrooms() : 0,
+            property.getBathrooms() != null ? property.getBathrooms() : 0,
+            property.getSquareFootage() != null ? property.getSquareFootage() : 0.0,
+            property.getInsulationRating() != null ? property.getInsulationRating() : 0,
+            property.getSolarPanels() != null && property.getSolarPanels(),
+            property.getOverallEcoScore() != null ? property.getOverallEcoScore() : 0.0,
+            property.getVersion() != null ? property.getVersion() : 0L);
+    }
+
+    public long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getExcerpt() { return excerpt; }
+    public String getCity() { return city; }
+    public String getState() { return state; }
+    public String getImageUrl() { return imageUrl; }
+    public double getRent() { return rent; }
+    public int getBedrooms() { return bedrooms; }
+    public int getBathrooms() { return bathrooms; }
+    public double getSquareFootage() { return squareFootage; }
+    public int getInsulationRating() { return insulationRating; }
+    public boolean isSolarPanels() { return solarPanels; }
+    public double getOverallEcoScore() { return overallEcoScore; }
+    public long getVersion() { return version; }
+
+    public String getEcoRatingDisplay() {
+        if (overallEcoScore >= 8.0) return "Excellent";
+        if (overallEcoScore >= 6.0) return "Good";
+        if (overallEcoScore >= 4.0) return "Fair";
+        return "Poor";
+    }
+}
@@ -0,0 +1,70 @@
+package com.greenlease.model;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset (seek) pagination.
+ * Holds the sort key and id of the last row on a page; the next page starts
+ * strictly after that position, so deep pages cost the same as the first one.
+ */
+public class SeekCursor {
+    private static final String VERSION = "1";
+
+    private final String sortKey;
+    private final long id;
+
+    private SeekCursor(String sortKey, long id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    public static SeekCursor ofScore(double score, long id) {
+        return new SeekCursor(BigDecimal.valueOf(score).toPlainString(), id);
+    }
+
+    public static SeekCursor ofTimestamp(LocalDateTime timestamp, long id) {
+        return new SeekCursor(timestamp.toString(), id);
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     * Returns null for a missing token; throws IllegalArgumentException for a malformed one.
+     */
+    public static SeekCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported cursor: " + token);
+            }
+            return new SeekCursor(parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = VERSION + "|" + sortKey + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public BigDecimal getScore() {
+        return new BigDecimal(sortKey);
+    }
+
+    public LocalDateTime getTimestamp() {
+        return LocalDateTime.parse(sortKey);
+    }
+
+    public long getId() { return id; }
+
+    @Override
+    public String toString() {
+        return "SeekCursor{" + sortKey + ", id=" + id + '}';
+    }
+}
@@ -23,6 +23,18 @@ public class User {
         this.email = email;
     }
 
+    /**
+     * Copy constructor, so cached users are never modified by callers
+     */
+    public User(User other) {
+        this.id = other.id;
+        this.username = other.username;
+        this.password = other.password;
+        this.email = other.email;
+        this.role = other.role;
+        this.enabled = other.enabled;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
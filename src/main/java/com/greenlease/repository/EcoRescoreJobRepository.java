@@ -0,0 +1,132 @@
+package com.greenlease.repository;
+
+import com.greenlease.model.EcoRescoreJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class EcoRescoreJobRepository {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private final RowMapper<EcoRescoreJob> jobRowMapper = new RowMapper<EcoRescoreJob>() {
+        @Override
+        public EcoRescoreJob mapRow(ResultSet rs, int rowNum) throws SQLException {
+            EcoRescoreJob job = new EcoRescoreJob();
+            job.setId(rs.getLong("id"));
+            job.setModelVersion(rs.getLong("model_version"));
+            job.setStatus(rs.getString("status"));
+            job.setLastPropertyId(rs.getLong("last_property_id"));
+            job.setTotalCount(rs.getLong("total_count"));
+            job.setProcessedCount(rs.getLong("processed_count"));
+            job.setUpdatedCount(rs.getLong("updated_count"));
+            job.setErrorMessage(rs.getString("error_message"));
+            job.setStartedAt(toLocalDateTime(rs.getTimestamp("started_at")));
+            job.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+            job.setFinishedAt(toLocalDateTime(rs.getTimestamp("finished_at")));
+            return job;
+        }
+    };
+    
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+    
+    public Optional<EcoRescoreJob> findById(Long id) {
+        String sql = "SELECT * FROM eco_rescore_jobs WHERE id = ?";
+        List<EcoRescoreJob> jobs = jdbcTemplate.query(sql, jobRowMapper, id);
+        return jobs.isEmpty() ? Optional.empty() : Optional.of(jobs.get(0));
+    }
+    
+    public Optional<EcoRescoreJob> findLatest() {
+        String sql = "SELECT * FROM eco_rescore_jobs ORDER BY id DESC LIMIT 1";
+        List<EcoRescoreJob> jobs = jdbcTemplate.query(sql, jobRowMapper);
+        return jobs.isEmpty() ? Optional.empty() : Optional.of(jobs.get(0));
+    }
+    
+    /**
+     * The most recent job that was still running when the application stopped
+     */
+    public Optional<EcoRescoreJob> findInterrupted() {
+        String sql = "SELECT * FROM eco_rescore_jobs WHERE status = 'RUNNING' ORDER BY id DESC LIMIT 1";
+        List<EcoRescoreJob> jobs = jdbcTemplate.query(sql, jobRowMapper);
+        return jobs.isEmpty() ? Optional.empty() : Optional.of(jobs.get(0));
+    }
+    
+    /**
+     * The most recent unfinished (running, paused or failed) job for a model version
+     */
+    public Optional<EcoRescoreJob> findResumable(Long modelVersion) {
+        String sql = """
+            SELECT * FROM eco_rescore_jobs 
+            WHERE model_version = ? AND status IN ('RUNNING', 'PAUSED', 'FAILED') 
+            ORDER BY id DESC LIMIT 1
+            """;
+        List<EcoRescoreJob> jobs = jdbcTemplate.query(sql, jobRowMapper, modelVersion);
+        return jobs.isEmpty() ? Optional.empty() : Optional.of(jobs.get(0));
+    }
+    
+    public EcoRescoreJob insert(EcoRescoreJob job) {
+        String sql = """
+            INSERT INTO eco_rescore_jobs (model_version, status, last_property_id, total_count, 
+                                        processed_count, updated_count, started_at, updated_at)
+            VALUES (?, ?, ?, ?, 0, 0, ?, ?)
+            """;
+        
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        LocalDateTime now = LocalDateTime.now();
+        
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, new String[]{"id"});
+            ps.setLong(1, job.getModelVersion());
+            ps.setString(2, job.getStatus());
+            ps.setLong(3, job.getLastPropertyId());
+            ps.setLong(4, job.getTotalCount());
+            ps.setTimestamp(5, Timestamp.valueOf(now));
+            ps.setTimestamp(6, Timestamp.valueOf(now));
+            return ps;
+        }, keyHolder);
+        
+        job.setId(keyHolder.getKey().longValue());
+        job.setStartedAt(now);
+        job.setUpdatedAt(now);
+        return job;
+    }
+    
+    /**
+     * Record the checkpoint; a restarted job continues after lastPropertyId
+     */
+    public void updateProgress(Long id, long lastPropertyId, long processedCount, long updatedCount) {
+        String sql = """
+            UPDATE eco_rescore_jobs SET last_property_id = ?, processed_count = ?, updated_count = ?, 
+                                      updated_at = ?
+            WHERE id = ?
+            """;
+        jdbcTemplate.update(sql, lastPropertyId, processedCount, updatedCount,
+                            Timestamp.valueOf(LocalDateTime.now()), id);
+    }
+    
+    public void updateStatus(Long id, String status, String errorMessage) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean finished = EcoRescoreJob.COMPLETED.equals(status) || EcoRescoreJob.FAILED.equals(status);
+        String sql = """
+            UPDATE eco_rescore_jobs SET status = ?, error_message = ?, updated_at = ?, finished_at = ?
+            WHERE id = ?
+            """;
+        jdbcTemplate.update(sql, status, errorMessage, Timestamp.valueOf(now),
+                            finished ? Timestamp.valueOf(now) : null, id);
+    }
+}
@@ -0,0 +1,110 @@
+package com.greenlease.repository;
+
+import com.greenlease.model.EcoScoringModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class EcoScoringModelRepository {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private final RowMapper<EcoScoringModel> modelRowMapper = new RowMapper<EcoScoringModel>() {
+        @Override
+        public EcoScoringModel mapRow(ResultSet rs, int rowNum) throws SQLException {
+            EcoScoringModel model = new EcoScoringModel();
+            model.setVersion(rs.getLong("version"));
+            model.setDescription(rs.getString("description"));
+            model.setInsulationWeight(rs.getDouble("insulation_weight"));
+            model.setSolarWeight(rs.getDouble("solar_weight"));
+            model.setWaterConservationWeight(rs.getDouble("water_conservation_weight"));
+            model.setEnergyEfficiencyWeight(rs.getDouble("energy_efficiency_weight"));
+            model.setGreenSpaceWeight(rs.getDouble("green_space_weight"));
+            model.setGreenSpaceMaxDistance(rs.getDouble("green_space_max_distance"));
+            model.setActive(rs.getBoolean("is_active"));
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            model.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+            return model;
+        }
+    };
+    
+    public Optional<EcoScoringModel> findActive() {
+        String sql = "SELECT * FROM eco_scoring_models WHERE is_active = true ORDER BY version DESC LIMIT 1";
+        List<EcoScoringModel> models = jdbcTemplate.query(sql, modelRowMapper);
+        return models.isEmpty() ? Optional.empty() : Optional.of(models.get(0));
+    }
+    
+    /**
+     * Version of the active model without loading its weights
+     */
+    public Optional<Long> findActiveVersion() {
+        String sql = "SELECT version FROM eco_scoring_models WHERE is_active = true ORDER BY version DESC LIMIT 1";
+        List<Long> versions = jdbcTemplate.queryForList(sql, Long.class);
+        return versions.isEmpty() ? Optional.empty() : Optional.of(versions.get(0));
+    }
+    
+    public Optional<EcoScoringModel> findByVersion(Long version) {
+        String sql = "SELECT * FROM eco_scoring_models WHERE version = ?";
+        List<EcoScoringModel> models = jdbcTemplate.query(sql, modelRowMapper, version);
+        return models.isEmpty() ? Optional.empty() : Optional.of(models.get(0));
+    }
+    
+    public List<EcoScoringModel> findAll() {
+        String sql = "SELECT * FROM eco_scoring_models ORDER BY version DESC";
+        return jdbcTemplate.query(sql, modelRowMapper);
+    }
+    
+    /**
+     * Store a new (inactive) model version
+     */
+    public EcoScoringModel insert(EcoScoringModel model) {
+        String sql = """
+            INSERT INTO eco_scoring_models (description, insulation_weight, solar_weight, 
+                                          water_conservation_weight, energy_efficiency_weight, 
+                                          green_space_weight, green_space_max_distance, 
+                                          is_active, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, false, ?)
+            """;
+        
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        LocalDateTime now = LocalDateTime.now();
+        
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, new String[]{"version"});
+            ps.setString(1, model.getDescription());
+            ps.setDouble(2, model.getInsulationWeight());
+            ps.setDouble(3, model.getSolarWeight());
+            ps.setDouble(4, model.getWaterConservationWeight());
+            ps.setDouble(5, model.getEnergyEfficiencyWeight());
+            ps.setDouble(6, model.getGreenSpaceWeight());
+            ps.setDouble(7, model.getGreenSpaceMaxDistance());
+            ps.setTimestamp(8, Timestamp.valueOf(now));
+            return ps;
+        }, keyHolder);
+        
+        model.setVersion(keyHolder.getKey().longValue());
+        model.setActive(false);
+        model.setCreatedAt(now);
+        return model;
+    }
+    
+    /**
+     * Make one version the active model
+     */
+    public void activate(Long version) {
+        jdbcTemplate.update("UPDATE eco_scoring_models SET is_active = (version = ?)", version);
+    }
+}
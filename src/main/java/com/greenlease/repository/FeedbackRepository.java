@@ -1,58 +1,138 @@
 package com.greenlease.repository;
 
+import com.greenlease.cache.CacheInvalidation;
+import com.greenlease.cache.EntityCache;
+import com.greenlease.model.ContentVersion;
+import com.greenlease.model.CursorPage;
 import com.greenlease.model.Feedback;
+import com.greenlease.model.PropertyFeedbackStats;
+import com.greenlease.model.SeekCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Repository
 public class FeedbackRepository {
     
+    // Aggregate columns of property_feedback_stats, each maintained by delta
+    private static final String[] STATS_COLUMNS = {
+        "total_count", "verified_count", "recommended_count", "rating_sum",
+        "eco_rating_sum", "eco_rating_count", "insulation_sum", "insulation_count",
+        "energy_bill_sum", "energy_bill_count", "solar_system_sum", "solar_system_count",
+        "water_efficiency_sum", "water_efficiency_count", "green_space_sum", "green_space_count"
+    };
+    
+    private static final String STATS_UPSERT_SQL =
+        "INSERT INTO property_feedback_stats (property_id, " + String.join(", ", STATS_COLUMNS) + ", version, updated_at) " +
+        "VALUES (?, " + String.join(", ", Collections.nCopies(STATS_COLUMNS.length, "?")) + ", 1, ?) " +
+        "ON DUPLICATE KEY UPDATE " +
+        Arrays.stream(STATS_COLUMNS).map(c -> c + " = " + c + " + VALUES(" + c + ")").collect(Collectors.joining(", ")) +
+        ", version = version + 1, updated_at = VALUES(updated_at)";
+    
     @Autowired
     private JdbcTemplate jdbcTemplate;
     
+    @Autowired
+    private EntityCache<Long, Feedback> feedbackCache;
+    
+    @Value("${greenlease.jdbc.stream-fetch-size:1000}")
+    private int streamFetchSize;
+    
     private final RowMapper<Feedback> feedbackRowMapper = new RowMapper<Feedback>() {
         @Override
         public Feedback mapRow(ResultSet rs, int rowNum) throws SQLException {
-            Feedback feedback = new Feedback();
-            feedback.setId(rs.getLong("id"));
-            feedback.setPropertyId(rs.getLong("property_id"));
-            feedback.setTenantName(rs.getString("tenant_name"));
-            feedback.setTenantEmail(rs.getString("tenant_email"));
-            feedback.setOverallRating(rs.getInt("overall_rating"));
-            feedback.setEcoRating(rs.getInt("eco_rating"));
-            feedback.setComment(rs.getString("comment"));
-            feedback.setIsVerified(rs.getBoolean("is_verified"));
-            feedback.setIsRecommended(rs.getBoolean("is_recommended"));
-            feedback.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-            feedback.setInsulationExperience(rs.getInt("insulation_experience"));
-            feedback.setEnergyBillSatisfaction(rs.getInt("energy_bill_satisfaction"));
-            feedback.setSolarSystemSatisfaction(rs.getInt("solar_system_satisfaction"));
-            feedback.setWaterEfficiencySatisfaction(rs.getInt("water_efficiency_satisfaction"));
-            feedback.setGreenSpaceSatisfaction(rs.getInt("green_space_satisfaction"));
-            return feedback;
+            return mapFeedback(rs, "");
         }
     };
     
-    public List<Feedback> findAll() {
-        String sql = "SELECT * FROM feedback ORDER BY created_at DESC";
-        return jdbcTemplate.query(sql, feedbackRowMapper);
+    /**
+     * Map feedback columns whose labels carry the given prefix (used by joined queries)
+     */
+    static Feedback mapFeedback(ResultSet rs, String prefix) throws SQLException {
+        Feedback feedback = new Feedback();
+        feedback.setId(rs.getLong(prefix + "id"));
+        feedback.setPropertyId(rs.getLong(prefix + "property_id"));
+        feedback.setTenantName(rs.getString(prefix + "tenant_name"));
+        feedback.setTenantEmail(rs.getString(prefix + "tenant_email"));
+        feedback.setOverallRating(rs.getInt(prefix + "overall_rating"));
+        feedback.setEcoRating(rs.getInt(prefix + "eco_rating"));
+        feedback.setComment(rs.getString(prefix + "comment"));
+        feedback.setIsVerified(rs.getBoolean(prefix + "is_verified"));
+        feedback.setIsRecommended(rs.getBoolean(prefix + "is_recommended"));
+        feedback.setCreatedAt(rs.getTimestamp(prefix + "created_at").toLocalDateTime());
+        feedback.setInsulationExperience(rs.getInt(prefix + "insulation_experience"));
+        feedback.setEnergyBillSatisfaction(rs.getInt(prefix + "energy_bill_satisfaction"));
+        feedback.setSolarSystemSatisfaction(rs.getInt(prefix + "solar_system_satisfaction"));
+        feedback.setWaterEfficiencySatisfaction(rs.getInt(prefix + "water_efficiency_satisfaction"));
+        feedback.setGreenSpaceSatisfaction(rs.getInt(prefix + "green_space_satisfaction"));
+        return feedback;
+    }
+    
+    /**
+     * Page through all feedback, newest first
+     */
+    public CursorPage<Feedback> findAll(SeekCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM feedback WHERE 1 = 1");
+        return queryPage(sql, new ArrayList<>(), after, limit);
     }
     
-    public List<Feedback> findByPropertyId(Long propertyId) {
-        String sql = "SELECT * FROM feedback WHERE property_id = ? ORDER BY created_at DESC";
-        return jdbcTemplate.query(sql, feedbackRowMapper, propertyId);
+    /**
+     * Page through the feedback of one property, newest first
+     */
+    public CursorPage<Feedback> findByPropertyId(Long propertyId, SeekCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM feedback WHERE property_id = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(propertyId);
+        return queryPage(sql, params, after, limit);
+    }
+    
+    /**
+     * Seek past the cursor on (created_at, id) and fetch one extra row to detect a next page
+     */
+    private CursorPage<Feedback> queryPage(StringBuilder sql, List<Object> params, SeekCursor after, int limit) {
+        if (after != null) {
+            Timestamp createdAt = Timestamp.valueOf(after.getTimestamp());
+            sql.append(" AND (created_at < ? OR (created_at = ? AND id < ?))");
+            params.add(createdAt);
+            params.add(createdAt);
+            params.add(after.getId());
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        params.add(limit + 1);
+        
+        List<Feedback> rows = jdbcTemplate.query(sql.toString(), feedbackRowMapper, params.toArray());
+        return CursorPage.of(rows, limit, f -> SeekCursor.ofTimestamp(f.getCreatedAt(), f.getId()));
+    }
+    
+    /**
+     * Visit all feedback in id order over a forward-only cursor, without materializing the result set
+     */
+    public void forEach(Consumer<Feedback> action) {
+        String sql = "SELECT * FROM feedback ORDER BY id";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(streamFetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> action.accept(mapFeedback(rs, "")));
     }
     
     public List<Feedback> findVerified() {
@@ -60,17 +140,82 @@ public class FeedbackRepository {
         return jdbcTemplate.query(sql, feedbackRowMapper);
     }
     
+    private final RowMapper<PropertyFeedbackStats> statsRowMapper = new RowMapper<PropertyFeedbackStats>() {
+        @Override
+        public PropertyFeedbackStats mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return mapStats(rs, "");
+        }
+    };
+    
+    /**
+     * Map property_feedback_stats columns whose labels carry the given prefix
+     */
+    static PropertyFeedbackStats mapStats(ResultSet rs, String prefix) throws SQLException {
+        PropertyFeedbackStats stats = new PropertyFeedbackStats();
+        stats.setPropertyId(rs.getLong(prefix + "property_id"));
+        stats.setTotalCount(rs.getLong(prefix + "total_count"));
+        stats.setVerifiedCount(rs.getLong(prefix + "verified_count"));
+        stats.setRecommendedCount(rs.getLong(prefix + "recommended_count"));
+        stats.setRatingSum(rs.getLong(prefix + "rating_sum"));
+        stats.setEcoRatingSum(rs.getLong(prefix + "eco_rating_sum"));
+        stats.setEcoRatingCount(rs.getLong(prefix + "eco_rating_count"));
+        stats.setInsulationSum(rs.getLong(prefix + "insulation_sum"));
+        stats.setInsulationCount(rs.getLong(prefix + "insulation_count"));
+        stats.setEnergyBillSum(rs.getLong(prefix + "energy_bill_sum"));
+        stats.setEnergyBillCount(rs.getLong(prefix + "energy_bill_count"));
+        stats.setSolarSystemSum(rs.getLong(prefix + "solar_system_sum"));
+        stats.setSolarSystemCount(rs.getLong(prefix + "solar_system_count"));
+        stats.setWaterEfficiencySum(rs.getLong(prefix + "water_efficiency_sum"));
+        stats.setWaterEfficiencyCount(rs.getLong(prefix + "water_efficiency_count"));
+        stats.setGreenSpaceSum(rs.getLong(prefix + "green_space_sum"));
+        stats.setGreenSpaceCount(rs.getLong(prefix + "green_space_count"));
+        stats.setVersion(rs.getLong(prefix + "version"));
+        Timestamp updatedAt = rs.getTimestamp(prefix + "updated_at");
+        stats.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null);
+        return stats;
+    }
+    
+    /**
+     * Cached lookup; callers get their own copy so changes to it never leak into the cache
+     */
     public Optional<Feedback> findById(Long id) {
+        Feedback cached = feedbackCache.get(id, this::loadById);
+        return cached != null ? Optional.of(new Feedback(cached)) : Optional.empty();
+    }
+    
+    private Feedback loadById(Long id) {
         String sql = "SELECT * FROM feedback WHERE id = ?";
         List<Feedback> feedbacks = jdbcTemplate.query(sql, feedbackRowMapper, id);
-        return feedbacks.isEmpty() ? Optional.empty() : Optional.of(feedbacks.get(0));
+        return feedbacks.isEmpty() ? null : feedbacks.get(0);
+    }
+    
+    /**
+     * Drop cached feedback of a property whose rows were removed by the ON DELETE CASCADE
+     */
+    public void evictByPropertyId(Long propertyId) {
+        feedbackCache.invalidateIf(feedback -> propertyId.equals(feedback.getPropertyId()));
     }
     
+    /**
+     * Save feedback and apply the change to property_feedback_stats in the same transaction
+     */
+    @Transactional
     public Feedback save(Feedback feedback) {
         if (feedback.getId() == null) {
-            return insert(feedback);
+            Feedback saved = insert(feedback);
+            applyStatsDelta(saved.getPropertyId(), statsContribution(saved), 1);
+            return saved;
         } else {
-            return update(feedback);
+            Optional<Feedback> previous = findByIdForUpdate(feedback.getId());
+            Feedback saved = update(feedback);
+            CacheInvalidation.invalidate(feedbackCache, feedback.getId());
+            if (previous.isPresent()) {
+                // The update statement never moves feedback to another property
+                Long propertyId = previous.get().getPropertyId();
+                applyStatsDelta(propertyId, statsContribution(previous.get()), -1);
+                applyStatsDelta(propertyId, statsContribution(saved), 1);
+            }
+            return saved;
         }
     }
     
@@ -141,25 +286,88 @@ public class FeedbackRepository {
         return feedback;
     }
     
+    /**
+     * Delete feedback and subtract it from property_feedback_stats in the same transaction
+     */
+    @Transactional
     public void deleteById(Long id) {
+        Optional<Feedback> previous = findByIdForUpdate(id);
         String sql = "DELETE FROM feedback WHERE id = ?";
-        jdbcTemplate.update(sql, id);
+        int deleted = jdbcTemplate.update(sql, id);
+        CacheInvalidation.invalidate(feedbackCache, id);
+        if (deleted > 0 && previous.isPresent()) {
+            applyStatsDelta(previous.get().getPropertyId(), statsContribution(previous.get()), -1);
+        }
+    }
+    
+    private Optional<Feedback> findByIdForUpdate(Long id) {
+        String sql = "SELECT * FROM feedback WHERE id = ? FOR UPDATE";
+        List<Feedback> feedbacks = jdbcTemplate.query(sql, feedbackRowMapper, id);
+        return feedbacks.isEmpty() ? Optional.empty() : Optional.of(feedbacks.get(0));
+    }
+    
+    /**
+     * Running aggregates for a property; a property without feedback has empty stats
+     */
+    public PropertyFeedbackStats findStatsByPropertyId(Long propertyId) {
+        String sql = "SELECT * FROM property_feedback_stats WHERE property_id = ?";
+        List<PropertyFeedbackStats> stats = jdbcTemplate.query(sql, statsRowMapper, propertyId);
+        return stats.isEmpty() ? PropertyFeedbackStats.empty(propertyId) : stats.get(0);
     }
     
-    public double getAverageRatingForProperty(Long propertyId) {
-        String sql = "SELECT AVG(overall_rating) FROM feedback WHERE property_id = ? AND is_verified = true";
-        Double result = jdbcTemplate.queryForObject(sql, Double.class, propertyId);
-        return result != null ? result : 0.0;
+    /**
+     * Version of a property's feedback aggregates without reading them; a property without
+     * feedback is at version 0
+     */
+    public ContentVersion findStatsVersion(Long propertyId) {
+        String sql = "SELECT version, updated_at FROM property_feedback_stats WHERE property_id = ?";
+        List<ContentVersion> versions = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            return new ContentVersion("s" + propertyId + "." + rs.getLong("version"),
+                                      updatedAt != null ? updatedAt.getTime() : -1);
+        }, propertyId);
+        return versions.isEmpty() ? new ContentVersion("s" + propertyId + ".0", -1) : versions.get(0);
     }
     
-    public double getAverageEcoRatingForProperty(Long propertyId) {
-        String sql = "SELECT AVG(eco_rating) FROM feedback WHERE property_id = ? AND is_verified = true AND eco_rating > 0";
-        Double result = jdbcTemplate.queryForObject(sql, Double.class, propertyId);
-        return result != null ? result : 0.0;
+    /**
+     * What one feedback row adds to its property's aggregates, in STATS_COLUMNS order
+     */
+    private static long[] statsContribution(Feedback feedback) {
+        boolean verified = Boolean.TRUE.equals(feedback.getIsVerified());
+        boolean recommended = Boolean.TRUE.equals(feedback.getIsRecommended());
+        long[] delta = new long[STATS_COLUMNS.length];
+        delta[0] = 1;
+        delta[1] = verified ? 1 : 0;
+        delta[2] = recommended ? 1 : 0;
+        if (verified) {
+            delta[3] = feedback.getOverallRating() != null ? feedback.getOverallRating() : 0;
+            addRated(delta, 4, feedback.getEcoRating());
+            addRated(delta, 6, feedback.getInsulationExperience());
+            addRated(delta, 8, feedback.getEnergyBillSatisfaction());
+            addRated(delta, 10, feedback.getSolarSystemSatisfaction());
+            addRated(delta, 12, feedback.getWaterEfficiencySatisfaction());
+            addRated(delta, 14, feedback.getGreenSpaceSatisfaction());
+        }
+        return delta;
     }
     
-    public long countByPropertyId(Long propertyId) {
-        String sql = "SELECT COUNT(*) FROM feedback WHERE property_id = ?";
-        return jdbcTemplate.queryForObject(sql, Long.class, propertyId);
+    private static void addRated(long[] delta, int sumIndex, Integer rating) {
+        if (rating != null && rating > 0) {
+            delta[sumIndex] = rating;
+            delta[sumIndex + 1] = 1;
+        }
+    }
+    
+    /**
+     * Add (sign = 1) or subtract (sign = -1) a contribution with a single upsert
+     */
+    private void applyStatsDelta(Long propertyId, long[] contribution, int sign) {
+        List<Object> params = new ArrayList<>();
+        params.add(propertyId);
+        for (long value : contribution) {
+            params.add(value * sign);
+        }
+        params.add(Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.update(STATS_UPSERT_SQL, params.toArray());
     }
 }
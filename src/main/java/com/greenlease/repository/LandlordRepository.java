@@ -0,0 +1,93 @@
+package com.greenlease.repository;
+
+import com.greenlease.model.Landlord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class LandlordRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final RowMapper<Landlord> landlordRowMapper = new RowMapper<Landlord>() {
+        @Override
+        public Landlord mapRow(ResultSet rs, int rowNum) throws SQLException {
+            Landlord landlord = new Landlord();
+            landlord.setId(rs.getLong("id"));
+            landlord.setFirstName(rs.getString("first_name"));
+            landlord.setLastName(rs.getString("last_name"));
+            landlord.setEmail(rs.getString("email"));
+            landlord.setPhone(rs.getString("phone"));
+            landlord.setCompany(rs.getString("company"));
+            landlord.setIsVerified(rs.getBoolean("is_verified"));
+            landlord.setSustainabilityScore(rs.getObject("sustainability_score", Double.class));
+            landlord.setTotalProperties(rs.getInt("total_properties"));
+            landlord.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+            landlord.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+            return landlord;
+        }
+    };
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    public Optional<Landlord> findById(Long id) {
+        String sql = "SELECT * FROM landlords WHERE id = ?";
+        List<Landlord> landlords = jdbcTemplate.query(sql, landlordRowMapper, id);
+        return landlords.isEmpty() ? Optional.empty() : Optional.of(landlords.get(0));
+    }
+
+    /**
+     * Top landlords by sustainability score (ties: more listings first), or by number of listings
+     */
+    public List<Landlord> findLeaderboard(boolean byListings, int minProperties, boolean verifiedOnly, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM landlords WHERE total_properties >= ?");
+        List<Object> params = new ArrayList<>();
+        params.add(minProperties);
+        if (verifiedOnly) {
+            sql.append(" AND is_verified = TRUE");
+        }
+        if (byListings) {
+            sql.append(" ORDER BY total_properties DESC, sustainability_score DESC, id");
+        } else {
+            sql.append(" AND sustainability_score IS NOT NULL");
+            sql.append(" ORDER BY sustainability_score DESC, total_properties DESC, id");
+        }
+        sql.append(" LIMIT ?");
+        params.add(limit);
+        return jdbcTemplate.query(sql.toString(), landlordRowMapper, params.toArray());
+    }
+
+    /**
+     * Add {@code listings} listings with a combined eco score of {@code ecoScoreSum} (either may
+     * be negative) and recompute the average from the new totals. The average is written first
+     * and built from the old column values plus the deltas, which gives the same result under
+     * MySQL's left-to-right SET evaluation and standard SQL.
+     */
+    public void applyDelta(Long id, int listings, BigDecimal ecoScoreSum) {
+        String sql = """
+            UPDATE landlords SET
+                sustainability_score = CASE WHEN total_properties + ? > 0
+                    THEN ROUND((COALESCE(eco_score_sum, 0) + ?) / (total_properties + ?), 2) END,
+                total_properties = total_properties + ?,
+                eco_score_sum = COALESCE(eco_score_sum, 0) + ?,
+                updated_at = ?
+            WHERE id = ?
+            """;
+        jdbcTemplate.update(sql, listings, ecoScoreSum, listings, listings, ecoScoreSum,
+                            Timestamp.valueOf(LocalDateTime.now()), id);
+    }
+}
@@ -0,0 +1,148 @@
+package com.greenlease.repository;
+
+import com.greenlease.model.ContentVersion;
+import com.greenlease.model.CursorPage;
+import com.greenlease.model.Feedback;
+import com.greenlease.model.Property;
+import com.greenlease.model.PropertyFeedbackStats;
+import com.greenlease.model.SeekCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Loads everything the property detail page shows in one round trip
+ */
+@Repository
+public class PropertyDetailRepository {
+
+    // Property columns come through unprefixed; stats and feedback columns are aliased
+    // so that their id, property_id, created_at and updated_at don't collide.
+    private static final String DETAIL_SQL = """
+        SELECT p.*,
+               s.property_id AS s_property_id, s.total_count AS s_total_count,
+               s.verified_count AS s_verified_count, s.recommended_count AS s_recommended_count,
+               s.rating_sum AS s_rating_sum, s.eco_rating_sum AS s_eco_rating_sum,
+               s.eco_rating_count AS s_eco_rating_count, s.insulation_sum AS s_insulation_sum,
+               s.insulation_count AS s_insulation_count, s.energy_bill_sum AS s_energy_bill_sum,
+               s.energy_bill_count AS s_energy_bill_count, s.solar_system_sum AS s_solar_system_sum,
+               s.solar_system_count AS s_solar_system_count, s.water_efficiency_sum AS s_water_efficiency_sum,
+               s.water_efficiency_count AS s_water_efficiency_count, s.green_space_sum AS s_green_space_sum,
+               s.green_space_count AS s_green_space_count, s.version AS s_version,
+               s.updated_at AS s_updated_at,
+               f.id AS f_id, f.property_id AS f_property_id, f.tenant_name AS f_tenant_name,
+               f.tenant_email AS f_tenant_email, f.overall_rating AS f_overall_rating,
+               f.eco_rating AS f_eco_rating, f.comment AS f_comment, f.is_verified AS f_is_verified,
+               f.is_recommended AS f_is_recommended, f.created_at AS f_created_at,
+               f.insulation_experience AS f_insulation_experience,
+               f.energy_bill_satisfaction AS f_energy_bill_satisfaction,
+               f.solar_system_satisfaction AS f_solar_system_satisfaction,
+               f.water_efficiency_satisfaction AS f_water_efficiency_satisfaction,
+               f.green_space_satisfaction AS f_green_space_satisfaction
+        FROM properties p
+        LEFT JOIN property_feedback_stats s ON s.property_id = p.id
+        LEFT JOIN feedback f ON f.property_id = p.id %s
+        WHERE p.id = ?
+        ORDER BY f.created_at DESC, f.id DESC
+        LIMIT ?
+        """;
+
+    private static final String FEEDBACK_SEEK = "AND (f.created_at < ? OR (f.created_at = ? AND f.id < ?))";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Property, its feedback aggregates and one page of its feedback (newest first).
+     * The property row repeats on each feedback row, which is cheap for a bounded page
+     * and saves the separate round trips.
+     */
+    public Optional<PropertyDetail> findDetail(Long propertyId, SeekCursor reviewsAfter, int reviewLimit) {
+        List<Object> params = new ArrayList<>();
+        String sql;
+        if (reviewsAfter != null) {
+            sql = String.format(DETAIL_SQL, FEEDBACK_SEEK);
+            Timestamp createdAt = Timestamp.valueOf(reviewsAfter.getTimestamp());
+            params.add(createdAt);
+            params.add(createdAt);
+            params.add(reviewsAfter.getId());
+        } else {
+            sql = String.format(DETAIL_SQL, "");
+        }
+        params.add(propertyId);
+        params.add(reviewLimit + 1);
+
+        return jdbcTemplate.query(sql, rs -> {
+            Property property = null;
+            PropertyFeedbackStats stats = null;
+            List<Feedback> feedbacks = new ArrayList<>();
+            while (rs.next()) {
+                if (property == null) {
+                    property = PropertyRepository.mapProperty(rs);
+                    rs.getLong("s_property_id");
+                    stats = rs.wasNull()
+                        ? PropertyFeedbackStats.empty(propertyId)
+                        : FeedbackRepository.mapStats(rs, "s_");
+                }
+                rs.getLong("f_id");
+                if (!rs.wasNull()) {
+                    feedbacks.add(FeedbackRepository.mapFeedback(rs, "f_"));
+                }
+            }
+            if (property == null) {
+                return Optional.empty();
+            }
+            CursorPage<Feedback> page = CursorPage.of(feedbacks, reviewLimit,
+                f -> SeekCursor.ofTimestamp(f.getCreatedAt(), f.getId()));
+            return Optional.of(new PropertyDetail(property, stats, page));
+        }, params.toArray());
+    }
+
+    /**
+     * Version of what the detail page shows, from the property version (bumped by every update)
+     * and the feedback stats version (bumped by every feedback insert, update and delete); a primary
+     * key lookup that maps no property or feedback rows
+     */
+    public Optional<ContentVersion> findVersion(Long propertyId) {
+        String sql = """
+            SELECT p.version, p.updated_at, s.version AS s_version, s.updated_at AS s_updated_at
+            FROM properties p
+            LEFT JOIN property_feedback_stats s ON s.property_id = p.id
+            WHERE p.id = ?
+            """;
+        List<ContentVersion> versions = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            long propertyVersion = rs.getLong("version");
+            long propertyUpdated = rs.getTimestamp("updated_at").getTime();
+            long statsVersion = rs.getLong("s_version");
+            Timestamp statsUpdated = rs.getTimestamp("s_updated_at");
+            long lastModified = statsUpdated != null ? Math.max(propertyUpdated, statsUpdated.getTime()) : propertyUpdated;
+            return new ContentVersion("p" + propertyId + "." + propertyVersion + "." + statsVersion, lastModified);
+        }, propertyId);
+        return versions.isEmpty() ? Optional.empty() : Optional.of(versions.get(0));
+    }
+
+    /**
+     * Result of {@link #findDetail}
+     */
+    public static class PropertyDetail {
+        private final Property property;
+        private final PropertyFeedbackStats feedbackStats;
+        private final CursorPage<Feedback> feedbackPage;
+
+        public PropertyDetail(Property property, PropertyFeedbackStats feedbackStats,
+                              CursorPage<Feedback> feedbackPage) {
+            this.property = property;
+            this.feedbackStats = feedbackStats;
+            this.feedbackPage = feedbackPage;
+        }
+
+        public Property getProperty() { return property; }
+        public PropertyFeedbackStats getFeedbackStats() { return feedbackStats; }
+        public CursorPage<Feedback> getFeedbackPage() { return feedbackPage; }
+    }
+}
@@ -1,21 +1,37 @@
 package com.greenlease.repository;
 
+import com.greenlease.cache.CacheInvalidation;
+import com.greenlease.cache.EntityCache;
+import com.greenlease.model.CursorPage;
 import com.greenlease.model.Property;
+import com.greenlease.model.PropertySearchCriteria;
+import com.greenlease.model.PropertySummary;
+import com.greenlease.model.SeekCursor;
+import com.greenlease.routing.DataSourceRouting;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 
 @Repository
@@ -24,74 +40,323 @@ public class PropertyRepository {
     @Autowired
     private JdbcTemplate jdbcTemplate;
     
+    @Autowired
+    private EntityCache<Long, Property> propertyCache;
+    
+    @Value("${greenlease.jdbc.stream-fetch-size:1000}")
+    private int streamFetchSize;
+    
     private final RowMapper<Property> propertyRowMapper = new RowMapper<Property>() {
         @Override
         public Property mapRow(ResultSet rs, int rowNum) throws SQLException {
-            Property property = new Property();
-            property.setId(rs.getLong("id"));
-            property.setTitle(rs.getString("title"));
-            property.setDescription(rs.getString("description"));
-            property.setAddress(rs.getString("address"));
-            property.setCity(rs.getString("city"));
-            property.setState(rs.getString("state"));
-            property.setZipCode(rs.getString("zip_code"));
-            property.setRent(rs.getBigDecimal("rent"));
-            property.setPropertyType(rs.getString("property_type"));
-            property.setBedrooms(rs.getInt("bedrooms"));
-            property.setBathrooms(rs.getInt("bathrooms"));
-            property.setSquareFootage(rs.getDouble("square_footage"));
-            property.setInsulationRating(rs.getInt("insulation_rating"));
-            property.setSolarPanels(rs.getBoolean("solar_panels"));
-            property.setSolarRating(rs.getInt("solar_rating"));
-            property.setWaterConservationRating(rs.getInt("water_conservation_rating"));
-            property.setGreenSpaceProximity(rs.getDouble("green_space_proximity"));
-            property.setEnergyEfficiencyRating(rs.getInt("energy_efficiency_rating"));
-            property.setOverallEcoScore(rs.getDouble("overall_eco_score"));
-            property.setLandlordId(rs.getLong("landlord_id"));
-            property.setImageUrl(rs.getString("image_url"));
-            property.setIsAvailable(rs.getBoolean("is_available"));
-            property.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-            property.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
-            return property;
+            return mapProperty(rs);
         }
     };
     
-    public List<Property> findAll() {
-        String sql = "SELECT * FROM properties ORDER BY overall_eco_score DESC, created_at DESC";
-        return jdbcTemplate.query(sql, propertyRowMapper);
+    static Property mapProperty(ResultSet rs) throws SQLException {
+        Property property = new Property();
+        property.setId(rs.getLong("id"));
+        property.setTitle(rs.getString("title"));
+        property.setDescription(rs.getString("description"));
+        property.setAddress(rs.getString("address"));
+        property.setCity(rs.getString("city"));
+        property.setState(rs.getString("state"));
+        property.setZipCode(rs.getString("zip_code"));
+        property.setRent(rs.getBigDecimal("rent"));
+        property.setPropertyType(rs.getString("property_type"));
+        property.setBedrooms(rs.getInt("bedrooms"));
+        property.setBathrooms(rs.getInt("bathrooms"));
+        property.setSquareFootage(rs.getDouble("square_footage"));
+        property.setInsulationRating(rs.getInt("insulation_rating"));
+        property.setSolarPanels(rs.getBoolean("solar_panels"));
+        property.setSolarRating(rs.getInt("solar_rating"));
+        property.setWaterConservationRating(rs.getInt("water_conservation_rating"));
+        property.setGreenSpaceProximity(rs.getDouble("green_space_proximity"));
+        property.setLatitude(rs.getObject("latitude", Double.class));
+        property.setLongitude(rs.getObject("longitude", Double.class));
+        property.setEnergyEfficiencyRating(rs.getInt("energy_efficiency_rating"));
+        property.setOverallEcoScore(rs.getDouble("overall_eco_score"));
+        property.setLandlordId(rs.getLong("landlord_id"));
+        property.setImageUrl(rs.getString("image_url"));
+        property.setIsAvailable(rs.getBoolean("is_available"));
+        property.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        property.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        property.setVersion(rs.getLong("version"));
+        return property;
     }
     
-    public List<Property> findAvailable() {
-        String sql = "SELECT * FROM properties WHERE is_available = true ORDER BY overall_eco_score DESC";
-        return jdbcTemplate.query(sql, propertyRowMapper);
-    }
+    /**
+     * Columns of a {@link PropertySummary}; the description is cut short in the database so the
+     * full TEXT value never crosses the wire
+     */
+    private static final String SUMMARY_COLUMNS = "id, title, LEFT(description, " + (PropertySummary.EXCERPT_LENGTH + 1)
+        + ") AS excerpt, city, state, image_url, rent, bedrooms, bathrooms, square_footage, insulation_rating, "
+        + "solar_panels, overall_eco_score, version";
     
+    private final RowMapper<PropertySummary> summaryRowMapper = (rs, rowNum) -> new PropertySummary(
+        rs.getLong("id"),
+        rs.getString("title"),
+        rs.getString("excerpt"),
+        rs.getString("city"),
+        rs.getString("state"),
+        rs.getString("image_url"),
+        rs.getDouble("rent"),
+        rs.getInt("bedrooms"),
+        rs.getInt("bathrooms"),
+        rs.getDouble("square_footage"),
+        rs.getInt("insulation_rating"),
+        rs.getBoolean("solar_panels"),
+        rs.getDouble("overall_eco_score"),
+        rs.getLong("version"));
+    
+    /**
+     * Cached lookup; callers get their own copy so changes to it never leak into the cache
+     */
     public Optional<Property> findById(Long id) {
+        Property cached = propertyCache.get(id, this::loadById);
+        return cached != null ? Optional.of(new Property(cached)) : Optional.empty();
+    }
+    
+    private Property loadById(Long id) {
         String sql = "SELECT * FROM properties WHERE id = ?";
         List<Property> properties = jdbcTemplate.query(sql, propertyRowMapper, id);
-        return properties.isEmpty() ? Optional.empty() : Optional.of(properties.get(0));
+        return properties.isEmpty() ? null : properties.get(0);
     }
     
-    public List<Property> findByCity(String city) {
-        String sql = "SELECT * FROM properties WHERE LOWER(city) LIKE LOWER(?) AND is_available = true ORDER BY overall_eco_score DESC";
-        return jdbcTemplate.query(sql, propertyRowMapper, "%" + city + "%");
+    /**
+     * Fetch several properties, returned in the order of the given ids.
+     * Cached entries are served from memory and the rest are loaded in one query.
+     */
+    public List<Property> findAllById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Property> byId;
+        if (DataSourceRouting.current() == DataSourceRouting.Target.PRIMARY) {
+            byId = propertyCache.getAll(ids, this::loadAllById);
+        } else {
+            // Rows from a possibly lagging replica could outlive a newer write in the cache
+            byId = new HashMap<>();
+            List<Long> missing = new ArrayList<>();
+            for (Long id : ids) {
+                Property cached = propertyCache.getIfPresent(id);
+                if (cached != null) {
+                    byId.put(id, cached);
+                } else {
+                    missing.add(id);
+                }
+            }
+            if (!missing.isEmpty()) {
+                byId.putAll(loadAllById(missing));
+            }
+        }
+        List<Property> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Property property = byId.get(id);
+            if (property != null) {
+                ordered.add(new Property(property));
+            }
+        }
+        return ordered;
     }
     
-    public List<Property> findByEcoScoreRange(double minScore, double maxScore) {
-        String sql = "SELECT * FROM properties WHERE overall_eco_score BETWEEN ? AND ? AND is_available = true ORDER BY overall_eco_score DESC";
-        return jdbcTemplate.query(sql, propertyRowMapper, minScore, maxScore);
+    private Map<Long, Property> loadAllById(List<Long> ids) {
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String sql = "SELECT * FROM properties WHERE id IN (" + placeholders + ")";
+        Map<Long, Property> byId = new HashMap<>();
+        for (Property property : jdbcTemplate.query(sql, propertyRowMapper, ids.toArray())) {
+            byId.put(property.getId(), property);
+        }
+        return byId;
     }
     
-    public List<Property> findByRentRange(BigDecimal minRent, BigDecimal maxRent) {
-        String sql = "SELECT * FROM properties WHERE rent BETWEEN ? AND ? AND is_available = true ORDER BY overall_eco_score DESC";
-        return jdbcTemplate.query(sql, propertyRowMapper, minRent, maxRent);
+    /**
+     * Summaries of several properties, returned in the order of the given ids.
+     * Cached properties are summarized from memory and the rest are loaded with the narrow summary SELECT.
+     */
+    public List<PropertySummary> findSummariesById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, PropertySummary> byId = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Property cached = propertyCache.getIfPresent(id);
+            if (cached != null) {
+                byId.put(id, PropertySummary.of(cached));
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            String placeholders = String.join(", ", Collections.nCopies(missing.size(), "?"));
+            String sql = "SELECT " + SUMMARY_COLUMNS + " FROM properties WHERE id IN (" + placeholders + ")";
+            for (PropertySummary summary : jdbcTemplate.query(sql, summaryRowMapper, missing.toArray())) {
+                byId.put(summary.getId(), summary);
+            }
+        }
+        List<PropertySummary> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            PropertySummary summary = byId.get(id);
+            if (summary != null) {
+                ordered.add(summary);
+            }
+        }
+        return ordered;
     }
     
-    public List<Property> findBySolarPanels(boolean hasSolar) {
-        String sql = "SELECT * FROM properties WHERE solar_panels = ? AND is_available = true ORDER BY overall_eco_score DESC";
-        return jdbcTemplate.query(sql, propertyRowMapper, hasSolar);
+    /**
+     * Stream only the filterable columns of every property, used to build in-memory search indexes
+     */
+    public void scanSearchColumns(RowCallbackHandler handler) {
+        String sql = """
+            SELECT id, city, rent, property_type, bedrooms, bathrooms, solar_panels,
+                   overall_eco_score, is_available
+            FROM properties
+            """;
+        streamQuery(sql, handler);
     }
     
+    /**
+     * Stream the location columns of every property, used to build the city autocomplete index
+     */
+    public void scanLocationColumns(RowCallbackHandler handler) {
+        streamQuery("SELECT id, city, state, is_available FROM properties", handler);
+    }
+    
+    /**
+     * Stream the coordinates of every located property, used to build the spatial index
+     */
+    public void scanGeoColumns(RowCallbackHandler handler) {
+        String sql = """
+            SELECT id, latitude, longitude, overall_eco_score, is_available
+            FROM properties
+            WHERE latitude IS NOT NULL AND longitude IS NOT NULL
+            """;
+        streamQuery(sql, handler);
+    }
+    
+    /**
+     * Stream the searchable text columns of every property, used to build the full-text index
+     */
+    public void scanTextColumns(RowCallbackHandler handler) {
+        String sql = """
+            SELECT id, title, description, address, city, overall_eco_score, is_available
+            FROM properties
+            """;
+        streamQuery(sql, handler);
+    }
+    
+    /**
+     * Visit every property in id order without materializing the result set
+     */
+    public void forEach(Consumer<Property> action) {
+        streamQuery("SELECT * FROM properties ORDER BY id", rs -> action.accept(mapProperty(rs)));
+    }
+    
+    /**
+     * Run a query over a forward-only, read-only cursor that fetches {@code streamFetchSize} rows
+     * per round trip (a server-side cursor on MySQL with useCursorFetch=true)
+     */
+    private void streamQuery(String sql, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(streamFetchSize);
+            return ps;
+        }, handler);
+    }
+    
+    /**
+     * Page through all properties, highest eco score first.
+     */
+    public CursorPage<PropertySummary> findAll(SeekCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + SUMMARY_COLUMNS + " FROM properties WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        return queryPage(sql, params, after, limit);
+    }
+    
+    /**
+     * Search available properties with every supplied filter applied in a single query.
+     * The city filter is a prefix match so that idx_properties_city stays usable;
+     * the MySQL column collation already makes it case-insensitive.
+     */
+    public CursorPage<PropertySummary> search(PropertySearchCriteria criteria, SeekCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + SUMMARY_COLUMNS + " FROM properties WHERE is_available = true");
+        List<Object> params = new ArrayList<>();
+
+        if (criteria.getCity() != null) {
+            sql.append(" AND city LIKE ?");
+            params.add(escapeLike(criteria.getCity()) + "%");
+        }
+        if (criteria.getMinRent() != null) {
+            sql.append(" AND rent >= ?");
+            params.add(criteria.getMinRent());
+        }
+        if (criteria.getMaxRent() != null) {
+            sql.append(" AND rent <= ?");
+            params.add(criteria.getMaxRent());
+        }
+        if (criteria.getMinEcoScore() != null) {
+            sql.append(" AND overall_eco_score >= ?");
+            params.add(criteria.getMinEcoScore());
+        }
+        if (criteria.getMaxEcoScore() != null) {
+            sql.append(" AND overall_eco_score <= ?");
+            params.add(criteria.getMaxEcoScore());
+        }
+        if (criteria.getSolarPanels() != null) {
+            sql.append(" AND solar_panels = ?");
+            params.add(criteria.getSolarPanels());
+        }
+        if (criteria.getMinBedrooms() != null) {
+            sql.append(" AND bedrooms >= ?");
+            params.add(criteria.getMinBedrooms());
+        }
+        if (criteria.getMinBathrooms() != null) {
+            sql.append(" AND bathrooms >= ?");
+            params.add(criteria.getMinBathrooms());
+        }
+        if (criteria.getPropertyType() != null) {
+            sql.append(" AND property_type = ?");
+            params.add(criteria.getPropertyType());
+        }
+
+        return queryPage(sql, params, after, limit);
+    }
+    
+    /**
+     * Keyword match on title, description, address and city, highest eco score first.
+     * The leading wildcard means a full scan; this only serves when the text index is disabled.
+     */
+    public CursorPage<PropertySummary> searchKeyword(String keyword, SeekCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + SUMMARY_COLUMNS + " FROM properties WHERE is_available = true"
+            + " AND (title LIKE ? OR description LIKE ? OR address LIKE ? OR city LIKE ?)");
+        String pattern = "%" + escapeLike(keyword) + "%";
+        List<Object> params = new ArrayList<>(List.of(pattern, pattern, pattern, pattern));
+        return queryPage(sql, params, after, limit);
+    }
+    
+    /**
+     * Seek past the cursor on (overall_eco_score, id) and fetch one extra row to detect a next page
+     */
+    private CursorPage<PropertySummary> queryPage(StringBuilder sql, List<Object> params, SeekCursor after, int limit) {
+        if (after != null) {
+            sql.append(" AND (overall_eco_score < ? OR (overall_eco_score = ? AND id < ?))");
+            params.add(after.getScore());
+            params.add(after.getScore());
+            params.add(after.getId());
+        }
+        sql.append(" ORDER BY overall_eco_score DESC, id DESC LIMIT ?");
+        params.add(limit + 1);
+        
+        List<PropertySummary> rows = jdbcTemplate.query(sql.toString(), summaryRowMapper, params.toArray());
+        return CursorPage.of(rows, limit, p -> SeekCursor.ofScore(p.getOverallEcoScore(), p.getId()));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     public Property save(Property property) {
         if (property.getId() == null) {
             return insert(property);
@@ -100,55 +365,101 @@ public class PropertyRepository {
         }
     }
     
+    private static final String INSERT_SQL = """
+        INSERT INTO properties (title, description, address, city, state, zip_code, rent, 
+                              property_type, bedrooms, bathrooms, square_footage, 
+                              insulation_rating, solar_panels, solar_rating, 
+                              water_conservation_rating, green_space_proximity, 
+                              energy_efficiency_rating, overall_eco_score, 
+                              landlord_id, image_url, is_available, created_at, updated_at,
+                              latitude, longitude)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+    
     private Property insert(Property property) {
-        String sql = """
-            INSERT INTO properties (title, description, address, city, state, zip_code, rent, 
-                                  property_type, bedrooms, bathrooms, square_footage, 
-                                  insulation_rating, solar_panels, solar_rating, 
-                                  water_conservation_rating, green_space_proximity, 
-                                  energy_efficiency_rating, overall_eco_score, 
-                                  landlord_id, image_url, is_available, created_at, updated_at)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-            """;
-        
         KeyHolder keyHolder = new GeneratedKeyHolder();
         LocalDateTime now = LocalDateTime.now();
         
         jdbcTemplate.update(connection -> {
-            PreparedStatement ps = connection.prepareStatement(sql, new String[]{"id"});
-            ps.setString(1, property.getTitle());
-            ps.setString(2, property.getDescription());
-            ps.setString(3, property.getAddress());
-            ps.setString(4, property.getCity());
-            ps.setString(5, property.getState());
-            ps.setString(6, property.getZipCode());
-            ps.setBigDecimal(7, property.getRent());
-            ps.setString(8, property.getPropertyType());
-            ps.setInt(9, property.getBedrooms() != null ? property.getBedrooms() : 0);
-            ps.setInt(10, property.getBathrooms() != null ? property.getBathrooms() : 0);
-            ps.setDouble(11, property.getSquareFootage() != null ? property.getSquareFootage() : 0.0);
-            ps.setInt(12, property.getInsulationRating() != null ? property.getInsulationRating() : 0);
-            ps.setBoolean(13, property.getSolarPanels() != null ? property.getSolarPanels() : false);
-            ps.setInt(14, property.getSolarRating() != null ? property.getSolarRating() : 0);
-            ps.setInt(15, property.getWaterConservationRating() != null ? property.getWaterConservationRating() : 0);
-            ps.setDouble(16, property.getGreenSpaceProximity() != null ? property.getGreenSpaceProximity() : 0.0);
-            ps.setInt(17, property.getEnergyEfficiencyRating() != null ? property.getEnergyEfficiencyRating() : 0);
-            ps.setDouble(18, property.getOverallEcoScore() != null ? property.getOverallEcoScore() : 0.0);
-            ps.setLong(19, property.getLandlordId() != null ? property.getLandlordId() : 1L);
-            ps.setString(20, property.getImageUrl());
-            ps.setBoolean(21, property.getIsAvailable() != null ? property.getIsAvailable() : true);
-            ps.setTimestamp(22, Timestamp.valueOf(now));
-            ps.setTimestamp(23, Timestamp.valueOf(now));
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[]{"id"});
+            bindInsert(ps, property, Timestamp.valueOf(now));
             return ps;
         }, keyHolder);
         
         property.setId(keyHolder.getKey().longValue());
         property.setCreatedAt(now);
         property.setUpdatedAt(now);
+        property.setVersion(0L);
         
         return property;
     }
     
+    /**
+     * Insert many properties with one JDBC batch and assign their generated ids.
+     * With rewriteBatchedStatements the MySQL driver sends the batch as multi-row inserts.
+     */
+    public List<Property> insertBatch(List<Property> properties) {
+        if (properties.isEmpty()) {
+            return properties;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[]{"id"})) {
+                for (Property property : properties) {
+                    bindInsert(ps, property, timestamp);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (Property property : properties) {
+                        if (!keys.next()) {
+                            throw new SQLException("Missing generated key for batch insert");
+                        }
+                        property.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+        
+        for (Property property : properties) {
+            property.setCreatedAt(now);
+            property.setUpdatedAt(now);
+            property.setVersion(0L);
+        }
+        return properties;
+    }
+    
+    private static void bindInsert(PreparedStatement ps, Property property, Timestamp now) throws SQLException {
+        ps.setString(1, property.getTitle());
+        ps.setString(2, property.getDescription());
+        ps.setString(3, property.getAddress());
+        ps.setString(4, property.getCity());
+        ps.setString(5, property.getState());
+        ps.setString(6, property.getZipCode());
+        ps.setBigDecimal(7, property.getRent());
+        ps.setString(8, property.getPropertyType());
+        ps.setInt(9, property.getBedrooms() != null ? property.getBedrooms() : 0);
+        ps.setInt(10, property.getBathrooms() != null ? property.getBathrooms() : 0);
+        ps.setDouble(11, property.getSquareFootage() != null ? property.getSquareFootage() : 0.0);
+        ps.setInt(12, property.getInsulationRating() != null ? property.getInsulationRating() : 0);
+        ps.setBoolean(13, property.getSolarPanels() != null ? property.getSolarPanels() : false);
+        ps.setInt(14, property.getSolarRating() != null ? property.getSolarRating() : 0);
+        ps.setInt(15, property.getWaterConservationRating() != null ? property.getWaterConservationRating() : 0);
+        ps.setDouble(16, property.getGreenSpaceProximity() != null ? property.getGreenSpaceProximity() : 0.0);
+        ps.setInt(17, property.getEnergyEfficiencyRating() != null ? property.getEnergyEfficiencyRating() : 0);
+        ps.setDouble(18, property.getOverallEcoScore() != null ? property.getOverallEcoScore() : 0.0);
+        ps.setLong(19, property.getLandlordId() != null ? property.getLandlordId() : 1L);
+        ps.setString(20, property.getImageUrl());
+        ps.setBoolean(21, property.getIsAvailable() != null ? property.getIsAvailable() : true);
+        ps.setTimestamp(22, now);
+        ps.setTimestamp(23, now);
+        ps.setObject(24, property.getLatitude(), Types.DOUBLE);
+        ps.setObject(25, property.getLongitude(), Types.DOUBLE);
+    }
+    
     private Property update(Property property) {
         String sql = """
             UPDATE properties SET title = ?, description = ?, address = ?, city = ?, state = ?, 
@@ -157,7 +468,8 @@ public class PropertyRepository {
                                 solar_panels = ?, solar_rating = ?, water_conservation_rating = ?, 
                                 green_space_proximity = ?, energy_efficiency_rating = ?, 
                                 overall_eco_score = ?, landlord_id = ?, image_url = ?, 
-                                is_available = ?, updated_at = ?
+                                is_available = ?, latitude = ?, longitude = ?, updated_at = ?,
+                                version = version + 1
             WHERE id = ?
             """;
         
@@ -185,17 +497,99 @@ public class PropertyRepository {
             property.getLandlordId(),
             property.getImageUrl(),
             property.getIsAvailable(),
+            property.getLatitude(),
+            property.getLongitude(),
             Timestamp.valueOf(now),
             property.getId()
         );
         
         property.setUpdatedAt(now);
+        property.setVersion(null); // the new value is only known to the database
+        CacheInvalidation.invalidate(propertyCache, property.getId());
         return property;
     }
     
+    /**
+     * Landlord and eco score of a stored property, locking the row until the transaction ends
+     */
+    public Optional<Property> lockLandlordShare(Long id) {
+        String sql = "SELECT id, landlord_id, overall_eco_score FROM properties WHERE id = ? FOR UPDATE";
+        List<Property> rows = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Property property = new Property();
+            property.setId(rs.getLong("id"));
+            property.setLandlordId(rs.getObject("landlord_id", Long.class));
+            property.setOverallEcoScore(rs.getDouble("overall_eco_score"));
+            return property;
+        }, id);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+    
     public void deleteById(Long id) {
         String sql = "DELETE FROM properties WHERE id = ?";
         jdbcTemplate.update(sql, id);
+        CacheInvalidation.invalidate(propertyCache, id);
+    }
+    
+    /**
+     * Next keyset chunk of the columns the eco score is computed from, in id order
+     */
+    public List<Property> findScoringInputs(long afterId, int limit) {
+        String sql = """
+            SELECT id, insulation_rating, solar_rating, water_conservation_rating, 
+                   energy_efficiency_rating, green_space_proximity, overall_eco_score, landlord_id, version
+            FROM properties
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Property property = new Property();
+            property.setId(rs.getLong("id"));
+            property.setInsulationRating(rs.getInt("insulation_rating"));
+            property.setSolarRating(rs.getInt("solar_rating"));
+            property.setWaterConservationRating(rs.getInt("water_conservation_rating"));
+            property.setEnergyEfficiencyRating(rs.getInt("energy_efficiency_rating"));
+            property.setGreenSpaceProximity(rs.getDouble("green_space_proximity"));
+            property.setOverallEcoScore(rs.getDouble("overall_eco_score"));
+            property.setLandlordId(rs.getObject("landlord_id", Long.class));
+            property.setVersion(rs.getLong("version"));
+            return property;
+        }, afterId, limit);
+    }
+    
+    /**
+     * Write recomputed eco scores with one JDBC batch. A row edited since it was read
+     * (version moved on) is skipped, since its save already scored it.
+     * Returns the ids that were written.
+     */
+    public List<Long> updateEcoScores(List<Property> rescored) {
+        if (rescored.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sql = "UPDATE properties SET overall_eco_score = ?, updated_at = ?, version = version + 1 WHERE id = ? AND version = ?";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts = jdbcTemplate.batchUpdate(sql, rescored, rescored.size(), (ps, property) -> {
+            ps.setDouble(1, property.getOverallEcoScore());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, property.getId());
+            ps.setLong(4, property.getVersion());
+        })[0];
+        
+        List<Long> written = new ArrayList<>(rescored.size());
+        for (int i = 0; i < counts.length; i++) {
+            // SUCCESS_NO_INFO when the driver rewrote the batch
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                Long id = rescored.get(i).getId();
+                written.add(id);
+                CacheInvalidation.invalidate(propertyCache, id);
+            }
+        }
+        return written;
+    }
+    
+    public long countAfterId(long afterId) {
+        String sql = "SELECT COUNT(*) FROM properties WHERE id > ?";
+        return jdbcTemplate.queryForObject(sql, Long.class, afterId);
     }
     
     public long count() {
@@ -203,6 +597,22 @@ public class PropertyRepository {
         return jdbcTemplate.queryForObject(sql, Long.class);
     }
     
+    /**
+     * Catalog-wide eco statistics in one aggregate query instead of loading lists to count them.
+     * Keys: total_count, average_eco_score, solar_count and excellent_count
+     * (solar and excellent only count available listings).
+     */
+    public Map<String, Object> aggregateEcoStatistics(double excellentMinScore) {
+        String sql = """
+            SELECT COUNT(*) AS total_count,
+                   AVG(CASE WHEN overall_eco_score > 0 THEN overall_eco_score END) AS average_eco_score,
+                   SUM(CASE WHEN is_available AND solar_panels THEN 1 ELSE 0 END) AS solar_count,
+                   SUM(CASE WHEN is_available AND overall_eco_score >= ? THEN 1 ELSE 0 END) AS excellent_count
+            FROM properties
+            """;
+        return jdbcTemplate.queryForMap(sql, excellentMinScore);
+    }
+    
     public double getAverageEcoScore() {
         String sql = "SELECT AVG(overall_eco_score) FROM properties WHERE overall_eco_score > 0";
         Double result = jdbcTemplate.queryForObject(sql, Double.class);
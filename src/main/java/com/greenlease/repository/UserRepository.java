@@ -1,5 +1,6 @@
 package com.greenlease.repository;
 
+import com.greenlease.cache.EntityCache;
 import com.greenlease.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -15,9 +16,15 @@ import java.util.Optional;
 @Repository
 public class UserRepository {
 
+    private static final String USER_COLUMNS = "id, username, password, email, role, enabled";
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    // Keyed by username: every authenticated login looks the user up by name
+    @Autowired
+    private EntityCache<String, User> userCache;
+
     private final RowMapper<User> userRowMapper = new RowMapper<User>() {
         @Override
         public User mapRow(ResultSet rs, int rowNum) throws SQLException {
@@ -38,9 +45,14 @@ public class UserRepository {
      * Find user by username
      */
     public Optional<User> findByUsername(String username) {
-        String sql = "SELECT * FROM users WHERE username = ?";
+        User cached = userCache.get(username, this::loadByUsername);
+        return cached != null ? Optional.of(new User(cached)) : Optional.empty();
+    }
+
+    private User loadByUsername(String username) {
+        String sql = "SELECT " + USER_COLUMNS + " FROM users WHERE username = ?";
         List<User> users = jdbcTemplate.query(sql, userRowMapper, username);
-        return users.isEmpty() ? Optional.empty() : Optional.of(users.get(0));
+        return users.isEmpty() ? null : users.get(0);
     }
 
     /**
@@ -50,9 +62,28 @@ public class UserRepository {
         String sql = "INSERT INTO users (username, password, email, role, enabled) VALUES (?, ?, ?, ?, ?)";
         jdbcTemplate.update(sql, user.getUsername(), user.getPassword(), 
             user.getEmail(), user.getRole(), user.isEnabled());
+        userCache.invalidate(user.getUsername());
         return user;
     }
 
+    /**
+     * Change a user's role; returns false if there is no such user
+     */
+    public boolean updateRole(String username, String role) {
+        int updated = jdbcTemplate.update("UPDATE users SET role = ? WHERE username = ?", role, username);
+        userCache.invalidate(username);
+        return updated > 0;
+    }
+
+    /**
+     * Replace a user's password hash (rehashing at a different BCrypt strength)
+     */
+    public boolean updatePassword(String username, String passwordHash) {
+        int updated = jdbcTemplate.update("UPDATE users SET password = ? WHERE username = ?", passwordHash, username);
+        userCache.invalidate(username);
+        return updated > 0;
+    }
+
     /**
      * Check if username exists
      */
@@ -0,0 +1,46 @@
+package com.greenlease.routing;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Decides, per thread, whether connections come from the primary or the read replica
+ */
+public final class DataSourceRouting {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private static volatile boolean replicaConfigured;
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * Replica only inside a read-only scope ({@link ReadFromReplica}) and when the current request
+     * has not been pinned to the primary; always primary when no replica is configured
+     */
+    public static Target current() {
+        if (replicaConfigured && FORCE_PRIMARY.get() == null
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+
+    /**
+     * Send every query on this thread to the primary until {@link #clear()}, so a request sees
+     * its own writes however far the replica lags
+     */
+    public static void forcePrimary() {
+        FORCE_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        FORCE_PRIMARY.remove();
+    }
+
+    static void replicaConfigured() {
+        replicaConfigured = true;
+    }
+}
@@ -0,0 +1,31 @@
+package com.greenlease.routing;
+
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method whose queries may be served by the read replica, when one is
+ * configured (see {@link ReplicaRoutingDataSource}).
+ *
+ * This is a read-only {@link Transactional} scope with SUPPORTS propagation: it flags the thread
+ * as read-only for routing without opening a database transaction, and inside an existing
+ * read-write transaction it changes nothing, so those reads stay on the primary.
+ *
+ * Don't use it for reads that fill long-lived caches: a lagging replica would put stale data there.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+public @interface ReadFromReplica {
+
+    @AliasFor(annotation = Transactional.class, attribute = "readOnly")
+    boolean readOnly() default true;
+}
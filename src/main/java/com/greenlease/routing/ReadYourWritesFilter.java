@@ -0,0 +1,58 @@
+package com.greenlease.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Read-your-writes on top of replica routing: a request that may write (anything but GET, HEAD
+ * and OPTIONS) runs entirely against the primary, and the session then stays on the primary for
+ * {@code stickyMillis}, long enough for the replica to catch up before the user reads again,
+ * e.g. the property page they are redirected to after submitting feedback.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String PRIMARY_UNTIL_ATTRIBUTE = ReadYourWritesFilter.class.getName() + ".primaryUntil";
+
+    private final long stickyMillis;
+
+    public ReadYourWritesFilter(long stickyMillis) {
+        this.stickyMillis = stickyMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = !isSafe(request.getMethod());
+        if (write || recentlyWrote(request)) {
+            DataSourceRouting.forcePrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DataSourceRouting.clear();
+            if (write) {
+                // Session may have been created or replaced (login) by the request
+                HttpSession session = request.getSession(false);
+                if (session != null) {
+                    session.setAttribute(PRIMARY_UNTIL_ATTRIBUTE, System.currentTimeMillis() + stickyMillis);
+                }
+            }
+        }
+    }
+
+    private static boolean isSafe(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    private static boolean recentlyWrote(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session != null && session.getAttribute(PRIMARY_UNTIL_ATTRIBUTE) instanceof Long until
+            && until > System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,77 @@
+package com.greenlease.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Sends each connection to the primary or the replica pool as decided by
+ * {@link DataSourceRouting#current()}.
+ *
+ * The routing target sits behind a {@link LazyConnectionDataSourceProxy}, so the physical
+ * connection is picked at the first statement, after the transaction manager has marked the
+ * scope read-only, rather than when the scope begins.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final AbstractRoutingDataSource router;
+    private volatile List<DataSource> targets;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, HikariDataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        this.router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return DataSourceRouting.current();
+            }
+        };
+        route(primary, replica);
+        setTargetDataSource(router);
+        DataSourceRouting.replicaConfigured();
+    }
+
+    /**
+     * Route to a wrapper of each pool instead of the pool itself, e.g. to limit each pool's
+     * connections separately. Call before the first connection is borrowed.
+     */
+    public void wrapPools(UnaryOperator<DataSource> wrapper) {
+        route(wrapper.apply(primary), wrapper.apply(replica));
+    }
+
+    /**
+     * The data sources connections are routed to: the pools, or their wrappers, primary first
+     */
+    public List<DataSource> getTargets() {
+        return targets;
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public HikariDataSource getReplica() {
+        return replica;
+    }
+
+    private void route(DataSource primaryTarget, DataSource replicaTarget) {
+        router.setTargetDataSources(Map.of(DataSourceRouting.Target.PRIMARY, primaryTarget,
+                                           DataSourceRouting.Target.REPLICA, replicaTarget));
+        router.setDefaultTargetDataSource(primaryTarget);
+        router.afterPropertiesSet();
+        targets = List.of(primaryTarget, replicaTarget);
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+}
@@ -0,0 +1,307 @@
+package com.greenlease.service;
+
+import com.greenlease.model.EcoRescoreJob;
+import com.greenlease.model.EcoScoringModel;
+import com.greenlease.model.Property;
+import com.greenlease.repository.EcoRescoreJobRepository;
+import com.greenlease.repository.PropertyRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recomputes every stored eco score with the active scoring model in the background.
+ *
+ * One reader walks the table in id order (keyset chunks); chunks are scored and written
+ * in parallel on a small worker pool, with at most two chunks per worker in flight.
+ * The job's checkpoint only moves past a chunk once it and every chunk before it are
+ * written, so a paused, failed or interrupted job resumes without skipping rows.
+ */
+@Service
+public class EcoRescoringService {
+
+    private static final Logger log = LoggerFactory.getLogger(EcoRescoringService.class);
+    private static final double SCORE_EPSILON = 0.005;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private EcoRescoreJobRepository jobRepository;
+
+    @Autowired
+    private EcoScoringService ecoScoringService;
+
+    @Autowired
+    private LandlordService landlordService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${greenlease.rescore.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${greenlease.rescore.threads:4}")
+    private int threads;
+
+    @Value("${greenlease.rescore.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(daemonThreads("eco-rescore"));
+    private ExecutorService workers;
+
+    private volatile EcoRescoreJob current;
+    private volatile boolean pauseRequested;
+
+    /**
+     * Continue a job that was still running when the application last stopped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        jobRepository.findInterrupted().ifPresent(job -> {
+            EcoScoringModel model = ecoScoringService.getActiveModel();
+            if (!model.getVersion().equals(job.getModelVersion())) {
+                // A newer model was activated since; that model's own job supersedes this one
+                jobRepository.updateStatus(job.getId(), EcoRescoreJob.FAILED, "Superseded by model version " + model.getVersion());
+                return;
+            }
+            log.info("Resuming eco rescoring job {} after property {}", job.getId(), job.getLastPropertyId());
+            launch(job, model);
+        });
+    }
+
+    /**
+     * Rescore with the active model: resumes that model's unfinished job if there is one,
+     * otherwise starts a new job from the beginning. Returns the running job.
+     */
+    public synchronized EcoRescoreJob start() {
+        // The model may have been activated through another instance
+        EcoScoringModel model = ecoScoringService.getCurrentModel();
+        EcoRescoreJob running = current;
+        if (running != null) {
+            if (running.getModelVersion().equals(model.getVersion())) {
+                pauseRequested = false;
+                return running;
+            }
+            throw new IllegalStateException("A rescoring job for model version " + running.getModelVersion()
+                                            + " is still running; pause it first");
+        }
+
+        Optional<EcoRescoreJob> resumable = jobRepository.findResumable(model.getVersion());
+        EcoRescoreJob job;
+        if (resumable.isPresent()) {
+            job = resumable.get();
+        } else {
+            job = new EcoRescoreJob();
+            job.setModelVersion(model.getVersion());
+            job.setStatus(EcoRescoreJob.RUNNING);
+            job.setLastPropertyId(0);
+            job.setTotalCount(propertyRepository.count());
+            job = jobRepository.insert(job);
+        }
+        launch(job, model);
+        return job;
+    }
+
+    /**
+     * Ask the running job to stop after the chunks already in flight
+     */
+    public synchronized Optional<EcoRescoreJob> pause() {
+        EcoRescoreJob running = current;
+        if (running != null) {
+            pauseRequested = true;
+        }
+        return Optional.ofNullable(running);
+    }
+
+    public Optional<EcoRescoreJob> getStatus() {
+        EcoRescoreJob running = current;
+        return running != null ? Optional.of(running) : jobRepository.findLatest();
+    }
+
+    private void launch(EcoRescoreJob job, EcoScoringModel model) {
+        job.setStatus(EcoRescoreJob.RUNNING);
+        job.setErrorMessage(null);
+        job.setFinishedAt(null);
+        jobRepository.updateStatus(job.getId(), EcoRescoreJob.RUNNING, null);
+        pauseRequested = false;
+        current = job;
+        jobExecutor.submit(() -> run(job, model));
+    }
+
+    private void run(EcoRescoreJob job, EcoScoringModel model) {
+        long start = System.nanoTime();
+        long startProcessed = job.getProcessedCount();
+        Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+        String status = EcoRescoreJob.COMPLETED;
+        String error = null;
+        try {
+            long afterId = job.getLastPropertyId();
+            while (!pauseRequested) {
+                List<Property> chunk = propertyRepository.findScoringInputs(afterId, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                afterId = chunk.get(chunk.size() - 1).getId();
+                inFlight.addLast(workers().submit(() -> rescoreChunk(chunk, model)));
+
+                if (inFlight.size() >= threads * 2) {
+                    checkpoint(job, inFlight.removeFirst().get());
+                }
+                while (!inFlight.isEmpty() && inFlight.peekFirst().isDone()) {
+                    checkpoint(job, inFlight.removeFirst().get());
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                checkpoint(job, inFlight.removeFirst().get());
+            }
+            if (pauseRequested) {
+                status = EcoRescoreJob.PAUSED;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Shutting down: leave the job RUNNING so it resumes from its checkpoint on the next start
+            inFlight.forEach(f -> f.cancel(true));
+            current = null;
+            return;
+        } catch (ExecutionException | RuntimeException e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.error("Eco rescoring job {} failed after property {}", job.getId(), job.getLastPropertyId(), cause);
+            inFlight.forEach(f -> f.cancel(true));
+            status = EcoRescoreJob.FAILED;
+            error = String.valueOf(cause.getMessage());
+        }
+
+        try {
+            jobRepository.updateStatus(job.getId(), status, error);
+        } finally {
+            job.setStatus(status);
+            job.setErrorMessage(error);
+            current = null;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Eco rescoring job {} {}: {} properties checked, {} rescored ({} rows/s)", job.getId(),
+                 status.toLowerCase(), job.getProcessedCount(), job.getUpdatedCount(),
+                 Math.round((job.getProcessedCount() - startProcessed) / Math.max(seconds, 0.001)));
+    }
+
+    /**
+     * Score a chunk and write only the rows whose score changed, together with
+     * the landlord score deltas for the rows written
+     */
+    private ChunkResult rescoreChunk(List<Property> chunk, EcoScoringModel model) {
+        List<Property> changed = new ArrayList<>();
+        Map<Long, BigDecimal> changeById = new HashMap<>();
+        for (Property property : chunk) {
+            double score = model.score(property);
+            if (Math.abs(score - property.getOverallEcoScore()) >= SCORE_EPSILON) {
+                changeById.put(property.getId(), BigDecimal.valueOf(score).subtract(BigDecimal.valueOf(property.getOverallEcoScore()))
+                                                           .setScale(2, RoundingMode.HALF_UP));
+                property.setOverallEcoScore(score);
+                changed.add(property);
+            }
+        }
+        List<Long> written = transactionTemplate.execute(status -> {
+            List<Long> ids = propertyRepository.updateEcoScores(changed);
+            Set<Long> writtenIds = new HashSet<>(ids);
+            Map<Long, BigDecimal> changeByLandlord = new HashMap<>();
+            for (Property property : changed) {
+                if (property.getLandlordId() != null && writtenIds.contains(property.getId())) {
+                    changeByLandlord.merge(property.getLandlordId(), changeById.get(property.getId()), BigDecimal::add);
+                }
+            }
+            landlordService.ecoScoresChanged(changeByLandlord);
+            return ids;
+        });
+        if (!written.isEmpty()) {
+            // Keep the search indexes in step with the new scores, from the rows in hand
+            Set<Long> writtenIds = new HashSet<>(written);
+            Map<Long, Double> scoreById = new HashMap<>();
+            for (Property property : changed) {
+                if (writtenIds.contains(property.getId())) {
+                    scoreById.put(property.getId(), property.getOverallEcoScore());
+                }
+            }
+            eventPublisher.publishEvent(new EcoScoresChangedEvent(scoreById));
+        }
+        return new ChunkResult(chunk.get(chunk.size() - 1).getId(), chunk.size(), written.size());
+    }
+
+    private void checkpoint(EcoRescoreJob job, ChunkResult result) {
+        job.setLastPropertyId(result.lastId);
+        job.setProcessedCount(job.getProcessedCount() + result.processed);
+        job.setUpdatedCount(job.getUpdatedCount() + result.updated);
+        jobRepository.updateProgress(job.getId(), job.getLastPropertyId(), job.getProcessedCount(), job.getUpdatedCount());
+    }
+
+    private synchronized ExecutorService workers() {
+        if (workers == null) {
+            workers = Executors.newFixedThreadPool(Math.max(1, threads), daemonThreads("eco-rescore-worker"));
+        }
+        return workers;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        jobExecutor.shutdownNow();
+        synchronized (this) {
+            if (workers != null) {
+                workers.shutdownNow();
+            }
+        }
+        jobExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class ChunkResult {
+        final long lastId;
+        final int processed;
+        final int updated;
+
+        ChunkResult(long lastId, int processed, int updated) {
+            this.lastId = lastId;
+            this.processed = processed;
+            this.updated = updated;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.greenlease.service;
+
+import java.util.Map;
+
+/**
+ * Published by {@link EcoRescoringService} after a chunk of recomputed eco scores is written.
+ * Nothing else about those properties changed, so read models update the score in place
+ * instead of reloading the rows.
+ */
+public class EcoScoresChangedEvent {
+    private final Map<Long, Double> scoreById;
+
+    public EcoScoresChangedEvent(Map<Long, Double> scoreById) {
+        this.scoreById = scoreById;
+    }
+
+    /**
+     * New overall eco score of every property written
+     */
+    public Map<Long, Double> getScoreById() { return scoreById; }
+}
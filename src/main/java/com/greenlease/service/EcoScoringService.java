@@ -0,0 +1,116 @@
+package com.greenlease.service;
+
+import com.greenlease.model.EcoScoringModel;
+import com.greenlease.model.Property;
+import com.greenlease.repository.EcoScoringModelRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Owns the versioned eco scoring models and scores properties with the active one
+ */
+@Service
+public class EcoScoringService {
+    
+    @Autowired
+    private EcoScoringModelRepository modelRepository;
+    
+    private volatile EcoScoringModel activeModel;
+    
+    /**
+     * The active model, cached; other instances pick up an activation on the next refresh
+     */
+    public EcoScoringModel getActiveModel() {
+        EcoScoringModel model = activeModel;
+        if (model == null) {
+            model = refresh();
+        }
+        return model;
+    }
+    
+    /**
+     * The active model after checking its version in the database, for scoring writes: a save
+     * must not use a model that another instance replaced less than a refresh ago
+     */
+    public EcoScoringModel getCurrentModel() {
+        EcoScoringModel model = activeModel;
+        Long version = modelRepository.findActiveVersion().orElse(null);
+        if (model == null || (version != null && !version.equals(model.getVersion()))) {
+            model = refresh();
+        }
+        return model;
+    }
+    
+    @Scheduled(fixedDelayString = "${greenlease.eco-scoring.refresh-ms:60000}")
+    public EcoScoringModel refresh() {
+        EcoScoringModel model = modelRepository.findActive().orElseGet(EcoScoringService::initialModel);
+        activeModel = model;
+        return model;
+    }
+    
+    public double score(Property property) {
+        return getActiveModel().score(property);
+    }
+    
+    public List<EcoScoringModel> getAllModels() {
+        return modelRepository.findAll();
+    }
+    
+    /**
+     * Store a new model version (inactive until {@link #activate})
+     */
+    public EcoScoringModel createModel(EcoScoringModel model) {
+        validate(model);
+        return modelRepository.insert(model);
+    }
+    
+    public EcoScoringModel activate(Long version) {
+        EcoScoringModel model = modelRepository.findByVersion(version)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown scoring model version: " + version));
+        modelRepository.activate(version);
+        model.setActive(true);
+        activeModel = model;
+        return model;
+    }
+    
+    private static void validate(EcoScoringModel model) {
+        double[] weights = {
+            model.getInsulationWeight(), model.getSolarWeight(), model.getWaterConservationWeight(),
+            model.getEnergyEfficiencyWeight(), model.getGreenSpaceWeight()
+        };
+        double sum = 0;
+        for (double weight : weights) {
+            if (weight < 0 || weight > 1) {
+                throw new IllegalArgumentException("Weights must be between 0 and 1");
+            }
+            sum += weight;
+        }
+        // Ratings are out of 10 and the score column holds at most 99.99
+        if (sum <= 0 || sum > 1.0 + 1e-9) {
+            throw new IllegalArgumentException("Weights must add up to more than 0 and at most 1");
+        }
+        if (model.getGreenSpaceMaxDistance() <= 0 || model.getGreenSpaceMaxDistance() > 100) {
+            throw new IllegalArgumentException("Green space max distance must be in (0, 100]");
+        }
+    }
+    
+    /**
+     * The original hard-coded weights, used if no model is stored
+     */
+    private static EcoScoringModel initialModel() {
+        EcoScoringModel model = new EcoScoringModel();
+        model.setVersion(1L);
+        model.setDescription("Initial weights");
+        model.setInsulationWeight(0.2);
+        model.setSolarWeight(0.25);
+        model.setWaterConservationWeight(0.2);
+        model.setEnergyEfficiencyWeight(0.25);
+        model.setGreenSpaceWeight(0.1);
+        model.setGreenSpaceMaxDistance(10.0);
+        model.setActive(true);
+        return model;
+    }
+}
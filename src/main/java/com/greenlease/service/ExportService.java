@@ -0,0 +1,162 @@
+package com.greenlease.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.greenlease.model.Feedback;
+import com.greenlease.model.Property;
+import com.greenlease.repository.FeedbackRepository;
+import com.greenlease.repository.PropertyRepository;
+import com.greenlease.routing.ReadFromReplica;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writes whole tables as CSV or newline-delimited JSON.
+ * Rows are read over a streaming cursor and written as they arrive, so memory use
+ * does not grow with the table. Both formats write the same columns, under the same names.
+ */
+@Service
+public class ExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final Map<String, Function<Property, Object>> PROPERTY_COLUMNS = new LinkedHashMap<>();
+    private static final Map<String, Function<Feedback, Object>> FEEDBACK_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        PROPERTY_COLUMNS.put("id", Property::getId);
+        PROPERTY_COLUMNS.put("title", Property::getTitle);
+        PROPERTY_COLUMNS.put("description", Property::getDescription);
+        PROPERTY_COLUMNS.put("address", Property::getAddress);
+        PROPERTY_COLUMNS.put("city", Property::getCity);
+        PROPERTY_COLUMNS.put("state", Property::getState);
+        PROPERTY_COLUMNS.put("zip_code", Property::getZipCode);
+        PROPERTY_COLUMNS.put("rent", Property::getRent);
+        PROPERTY_COLUMNS.put("property_type", Property::getPropertyType);
+        PROPERTY_COLUMNS.put("bedrooms", Property::getBedrooms);
+        PROPERTY_COLUMNS.put("bathrooms", Property::getBathrooms);
+        PROPERTY_COLUMNS.put("square_footage", Property::getSquareFootage);
+        PROPERTY_COLUMNS.put("insulation_rating", Property::getInsulationRating);
+        PROPERTY_COLUMNS.put("solar_panels", Property::getSolarPanels);
+        PROPERTY_COLUMNS.put("solar_rating", Property::getSolarRating);
+        PROPERTY_COLUMNS.put("water_conservation_rating", Property::getWaterConservationRating);
+        PROPERTY_COLUMNS.put("green_space_proximity", Property::getGreenSpaceProximity);
+        PROPERTY_COLUMNS.put("latitude", Property::getLatitude);
+        PROPERTY_COLUMNS.put("longitude", Property::getLongitude);
+        PROPERTY_COLUMNS.put("energy_efficiency_rating", Property::getEnergyEfficiencyRating);
+        PROPERTY_COLUMNS.put("overall_eco_score", Property::getOverallEcoScore);
+        PROPERTY_COLUMNS.put("landlord_id", Property::getLandlordId);
+        PROPERTY_COLUMNS.put("image_url", Property::getImageUrl);
+        PROPERTY_COLUMNS.put("is_available", Property::getIsAvailable);
+        PROPERTY_COLUMNS.put("created_at", Property::getCreatedAt);
+        PROPERTY_COLUMNS.put("updated_at", Property::getUpdatedAt);
+
+        FEEDBACK_COLUMNS.put("id", Feedback::getId);
+        FEEDBACK_COLUMNS.put("property_id", Feedback::getPropertyId);
+        FEEDBACK_COLUMNS.put("tenant_name", Feedback::getTenantName);
+        // No tenant_email: an export file travels further than the database it came from
+        FEEDBACK_COLUMNS.put("overall_rating", Feedback::getOverallRating);
+        FEEDBACK_COLUMNS.put("eco_rating", Feedback::getEcoRating);
+        FEEDBACK_COLUMNS.put("comment", Feedback::getComment);
+        FEEDBACK_COLUMNS.put("is_verified", Feedback::getIsVerified);
+        FEEDBACK_COLUMNS.put("is_recommended", Feedback::getIsRecommended);
+        FEEDBACK_COLUMNS.put("created_at", Feedback::getCreatedAt);
+        FEEDBACK_COLUMNS.put("insulation_experience", Feedback::getInsulationExperience);
+        FEEDBACK_COLUMNS.put("energy_bill_satisfaction", Feedback::getEnergyBillSatisfaction);
+        FEEDBACK_COLUMNS.put("solar_system_satisfaction", Feedback::getSolarSystemSatisfaction);
+        FEEDBACK_COLUMNS.put("water_efficiency_satisfaction", Feedback::getWaterEfficiencySatisfaction);
+        FEEDBACK_COLUMNS.put("green_space_satisfaction", Feedback::getGreenSpaceSatisfaction);
+    }
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @ReadFromReplica
+    public void exportProperties(Format format, OutputStream out) throws IOException {
+        export(format, out, PROPERTY_COLUMNS, propertyRepository::forEach);
+    }
+
+    @ReadFromReplica
+    public void exportFeedback(Format format, OutputStream out) throws IOException {
+        export(format, out, FEEDBACK_COLUMNS, feedbackRepository::forEach);
+    }
+
+    private <T> void export(Format format, OutputStream out, Map<String, Function<T, Object>> columns,
+                            Consumer<Consumer<T>> source) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            if (format == Format.CSV) {
+                writer.write(String.join(",", columns.keySet()));
+                writer.write("\r\n");
+                source.accept(row -> writeCsvRow(writer, columns, row));
+            } else {
+                SequenceWriter json = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+                source.accept(row -> {
+                    try {
+                        json.write(jsonRow(columns, row));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.flush();
+                writer.write("\n");
+            }
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; stop reading rows and let the caller see the I/O error
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static <T> void writeCsvRow(Writer writer, Map<String, Function<T, Object>> columns, T row) {
+        try {
+            boolean first = true;
+            for (Function<T, Object> column : columns.values()) {
+                if (!first) {
+                    writer.write(',');
+                }
+                first = false;
+                Object value = column.apply(row);
+                if (value != null) {
+                    writer.write(csvEscape(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> Map<String, Object> jsonRow(Map<String, Function<T, Object>> columns, T row) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Function<T, Object>> column : columns.entrySet()) {
+            values.put(column.getKey(), column.getValue().apply(row));
+        }
+        return values;
+    }
+
+    private static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,7 +1,12 @@
 package com.greenlease.service;
 
+import com.greenlease.model.ContentVersion;
+import com.greenlease.model.CursorPage;
 import com.greenlease.model.Feedback;
+import com.greenlease.model.PropertyFeedbackStats;
+import com.greenlease.model.SeekCursor;
 import com.greenlease.repository.FeedbackRepository;
+import com.greenlease.routing.ReadFromReplica;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,17 +19,33 @@ import java.util.Optional;
 @Service
 public class FeedbackService {
     
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 100;
+    
     @Autowired
     private FeedbackRepository feedbackRepository;
     
-    public List<Feedback> getAllFeedback() {
-        return feedbackRepository.findAll();
+    /**
+     * Page through all feedback, newest first
+     */
+    @ReadFromReplica
+    public CursorPage<Feedback> getAllFeedback(String cursor, int size) {
+        return feedbackRepository.findAll(SeekCursor.decode(cursor), clampPageSize(size));
     }
     
-    public List<Feedback> getFeedbackByPropertyId(Long propertyId) {
-        return feedbackRepository.findByPropertyId(propertyId);
+    /**
+     * Page through the feedback of one property, newest first
+     */
+    @ReadFromReplica
+    public CursorPage<Feedback> getFeedbackByPropertyId(Long propertyId, String cursor, int size) {
+        return feedbackRepository.findByPropertyId(propertyId, SeekCursor.decode(cursor), clampPageSize(size));
     }
     
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+    
+    @ReadFromReplica
     public List<Feedback> getVerifiedFeedback() {
         return feedbackRepository.findVerified();
     }
@@ -54,16 +75,19 @@ public class FeedbackService {
         feedbackRepository.deleteById(id);
     }
     
+    @ReadFromReplica
     public double getAverageRatingForProperty(Long propertyId) {
-        return feedbackRepository.getAverageRatingForProperty(propertyId);
+        return feedbackRepository.findStatsByPropertyId(propertyId).getAverageRating();
     }
     
+    @ReadFromReplica
     public double getAverageEcoRatingForProperty(Long propertyId) {
-        return feedbackRepository.getAverageEcoRatingForProperty(propertyId);
+        return feedbackRepository.findStatsByPropertyId(propertyId).getAverageEcoRating();
     }
     
+    @ReadFromReplica
     public long getFeedbackCountForProperty(Long propertyId) {
-        return feedbackRepository.countByPropertyId(propertyId);
+        return feedbackRepository.findStatsByPropertyId(propertyId).getTotalCount();
     }
     
     /**
@@ -80,19 +104,19 @@ public class FeedbackService {
     }
     
     /**
-     * Get feedback statistics for a property
+     * Get feedback statistics for a property from its running aggregates (single row lookup)
      */
+    @ReadFromReplica
     public FeedbackStatistics getFeedbackStatistics(Long propertyId) {
-        List<Feedback> feedbacks = getFeedbackByPropertyId(propertyId);
-        long totalCount = feedbacks.size();
-        long verifiedCount = feedbacks.stream().mapToLong(f -> f.getIsVerified() ? 1 : 0).sum();
-        long recommendedCount = feedbacks.stream().mapToLong(f -> f.getIsRecommended() != null && f.getIsRecommended() ? 1 : 0).sum();
-        
-        double averageRating = getAverageRatingForProperty(propertyId);
-        double averageEcoRating = getAverageEcoRatingForProperty(propertyId);
-        
-        return new FeedbackStatistics(totalCount, verifiedCount, recommendedCount, 
-                                    averageRating, averageEcoRating);
+        return FeedbackStatistics.of(feedbackRepository.findStatsByPropertyId(propertyId));
+    }
+    
+    /**
+     * Validator for a property's feedback statistics
+     */
+    @ReadFromReplica
+    public ContentVersion getFeedbackStatisticsVersion(Long propertyId) {
+        return feedbackRepository.findStatsVersion(propertyId);
     }
     
     /**
@@ -104,14 +128,41 @@ public class FeedbackService {
         private final long recommendedCount;
         private final double averageRating;
         private final double averageEcoRating;
+        private final double averageInsulationExperience;
+        private final double averageEnergyBillSatisfaction;
+        private final double averageSolarSystemSatisfaction;
+        private final double averageWaterEfficiencySatisfaction;
+        private final double averageGreenSpaceSatisfaction;
         
         public FeedbackStatistics(long totalCount, long verifiedCount, long recommendedCount,
                                 double averageRating, double averageEcoRating) {
+            this(totalCount, verifiedCount, recommendedCount, averageRating, averageEcoRating,
+                 0.0, 0.0, 0.0, 0.0, 0.0);
+        }
+        
+        public FeedbackStatistics(long totalCount, long verifiedCount, long recommendedCount,
+                                double averageRating, double averageEcoRating,
+                                double averageInsulationExperience, double averageEnergyBillSatisfaction,
+                                double averageSolarSystemSatisfaction, double averageWaterEfficiencySatisfaction,
+                                double averageGreenSpaceSatisfaction) {
             this.totalCount = totalCount;
             this.verifiedCount = verifiedCount;
             this.recommendedCount = recommendedCount;
             this.averageRating = averageRating;
             this.averageEcoRating = averageEcoRating;
+            this.averageInsulationExperience = averageInsulationExperience;
+            this.averageEnergyBillSatisfaction = averageEnergyBillSatisfaction;
+            this.averageSolarSystemSatisfaction = averageSolarSystemSatisfaction;
+            this.averageWaterEfficiencySatisfaction = averageWaterEfficiencySatisfaction;
+            this.averageGreenSpaceSatisfaction = averageGreenSpaceSatisfaction;
+        }
+        
+        public static FeedbackStatistics of(PropertyFeedbackStats stats) {
+            return new FeedbackStatistics(stats.getTotalCount(), stats.getVerifiedCount(),
+                    stats.getRecommendedCount(), stats.getAverageRating(), stats.getAverageEcoRating(),
+                    stats.getAverageInsulationExperience(), stats.getAverageEnergyBillSatisfaction(),
+                    stats.getAverageSolarSystemSatisfaction(), stats.getAverageWaterEfficiencySatisfaction(),
+                    stats.getAverageGreenSpaceSatisfaction());
         }
         
         public long getTotalCount() { return totalCount; }
@@ -119,6 +170,11 @@ public class FeedbackService {
         public long getRecommendedCount() { return recommendedCount; }
         public double getAverageRating() { return averageRating; }
         public double getAverageEcoRating() { return averageEcoRating; }
+        public double getAverageInsulationExperience() { return averageInsulationExperience; }
+        public double getAverageEnergyBillSatisfaction() { return averageEnergyBillSatisfaction; }
+        public double getAverageSolarSystemSatisfaction() { return averageSolarSystemSatisfaction; }
+        public double getAverageWaterEfficiencySatisfaction() { return averageWaterEfficiencySatisfaction; }
+        public double getAverageGreenSpaceSatisfaction() { return averageGreenSpaceSatisfaction; }
         
         public double getRecommendationPercentage() {
             return totalCount > 0 ? (recommendedCount * 100.0 / totalCount) : 0.0;
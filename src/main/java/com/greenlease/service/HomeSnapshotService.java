@@ -0,0 +1,89 @@
+package com.greenlease.service;
+
+import com.greenlease.model.PropertySummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Holds a precomputed snapshot of everything the home page shows.
+ * The snapshot is rebuilt on a fixed schedule and after any property change,
+ * so in steady state the landing page is served without touching the database.
+ */
+@Service
+public class HomeSnapshotService {
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Value("${greenlease.home.featured-limit:6}")
+    private int featuredLimit;
+
+    private volatile HomeSnapshot snapshot;
+    private volatile boolean stale = true;
+
+    /**
+     * Get the current snapshot, rebuilding it first if it was invalidated
+     */
+    public HomeSnapshot getSnapshot() {
+        HomeSnapshot current = snapshot;
+        if (current != null && !stale) {
+            return current;
+        }
+        synchronized (this) {
+            // Another request may have rebuilt it while we waited
+            if (snapshot == null || stale) {
+                refresh();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Periodic rebuild, which also picks up changes made outside this application instance
+     */
+    @Scheduled(fixedDelayString = "${greenlease.home.snapshot-refresh-ms:300000}",
+               initialDelayString = "${greenlease.home.snapshot-refresh-ms:300000}")
+    public synchronized void refresh() {
+        // Clear the flag first so an invalidation during the rebuild is not lost
+        stale = false;
+        List<PropertySummary> featured = List.copyOf(propertyService.getEcoExcellentProperties(featuredLimit));
+        PropertyService.EcoStatistics stats = propertyService.getEcoStatistics();
+        snapshot = new HomeSnapshot(featured, stats, LocalDateTime.now());
+    }
+
+    @EventListener
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        stale = true;
+    }
+
+    @EventListener
+    public void onEcoScoresChanged(EcoScoresChangedEvent event) {
+        stale = true;
+    }
+
+    /**
+     * Inner class for the home page snapshot
+     */
+    public static class HomeSnapshot {
+        private final List<PropertySummary> featuredProperties;
+        private final PropertyService.EcoStatistics stats;
+        private final LocalDateTime builtAt;
+
+        public HomeSnapshot(List<PropertySummary> featuredProperties, PropertyService.EcoStatistics stats,
+                            LocalDateTime builtAt) {
+            this.featuredProperties = featuredProperties;
+            this.stats = stats;
+            this.builtAt = builtAt;
+        }
+
+        public List<PropertySummary> getFeaturedProperties() { return featuredProperties; }
+        public PropertyService.EcoStatistics getStats() { return stats; }
+        public LocalDateTime getBuiltAt() { return builtAt; }
+    }
+}
@@ -0,0 +1,168 @@
+package com.greenlease.service;
+
+import com.greenlease.model.Landlord;
+import com.greenlease.model.Property;
+import com.greenlease.repository.LandlordRepository;
+import com.greenlease.routing.ReadFromReplica;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Keeps each landlord's listing count and average eco score current.
+ *
+ * Every property write adjusts only the landlords it touches by the difference it makes
+ * (one listing more or less, the change in eco score), in the same transaction as the write,
+ * so nothing is ever recomputed over the properties table.
+ */
+@Service
+public class LandlordService {
+
+    public static final int DEFAULT_LEADERBOARD_SIZE = 10;
+    public static final int MAX_LEADERBOARD_SIZE = 100;
+
+    @Autowired
+    private LandlordRepository landlordRepository;
+
+    public Optional<Landlord> getLandlordById(Long id) {
+        return landlordRepository.findById(id);
+    }
+
+    /**
+     * Ranked landlords, by average eco score or by number of listings
+     */
+    @ReadFromReplica
+    public List<LeaderboardEntry> getLeaderboard(boolean byListings, int minProperties, boolean verifiedOnly, int limit) {
+        int size = limit <= 0 ? DEFAULT_LEADERBOARD_SIZE : Math.min(limit, MAX_LEADERBOARD_SIZE);
+        List<Landlord> landlords = landlordRepository.findLeaderboard(byListings, Math.max(0, minProperties),
+                                                                      verifiedOnly, size);
+        List<LeaderboardEntry> entries = new ArrayList<>(landlords.size());
+        for (Landlord landlord : landlords) {
+            entries.add(new LeaderboardEntry(entries.size() + 1, landlord));
+        }
+        return entries;
+    }
+
+    /**
+     * Account for a saved property. {@code previous} is the stored row before the save
+     * (landlord and eco score only), or null for a new property. Call inside the saving transaction.
+     */
+    public void listingSaved(Property previous, Property saved) {
+        Deltas deltas = new Deltas();
+        if (previous != null) {
+            deltas.remove(previous);
+        }
+        deltas.add(saved);
+        deltas.apply();
+    }
+
+    /**
+     * Account for new properties, e.g. an imported chunk
+     */
+    public void listingsAdded(Collection<Property> added) {
+        Deltas deltas = new Deltas();
+        added.forEach(deltas::add);
+        deltas.apply();
+    }
+
+    /**
+     * Account for a deleted property (its stored row before the delete)
+     */
+    public void listingDeleted(Property previous) {
+        Deltas deltas = new Deltas();
+        deltas.remove(previous);
+        deltas.apply();
+    }
+
+    /**
+     * Account for eco score changes on listings that kept their landlord
+     */
+    public void ecoScoresChanged(Map<Long, BigDecimal> scoreChangeByLandlord) {
+        Deltas deltas = new Deltas();
+        scoreChangeByLandlord.forEach((landlordId, change) -> deltas.adjust(landlordId, 0, change));
+        deltas.apply();
+    }
+
+    /**
+     * Net change per landlord; applied in landlord id order so concurrent writers
+     * lock landlord rows in the same order
+     */
+    private class Deltas {
+        private final Map<Long, Integer> listings = new TreeMap<>();
+        private final Map<Long, BigDecimal> scores = new TreeMap<>();
+
+        void add(Property property) {
+            adjust(property.getLandlordId(), 1, score(property));
+        }
+
+        void remove(Property property) {
+            adjust(property.getLandlordId(), -1, score(property).negate());
+        }
+
+        void adjust(Long landlordId, int listingChange, BigDecimal scoreChange) {
+            if (landlordId == null) {
+                return;
+            }
+            listings.merge(landlordId, listingChange, Integer::sum);
+            scores.merge(landlordId, scoreChange, BigDecimal::add);
+        }
+
+        void apply() {
+            for (Map.Entry<Long, Integer> e : listings.entrySet()) {
+                BigDecimal scoreChange = scores.get(e.getKey());
+                if (e.getValue() != 0 || scoreChange.signum() != 0) {
+                    landlordRepository.applyDelta(e.getKey(), e.getValue(), scoreChange);
+                }
+            }
+        }
+
+        private BigDecimal score(Property property) {
+            // Stored scores have two decimals; keep the running sum exact
+            return property.getOverallEcoScore() != null
+                ? BigDecimal.valueOf(property.getOverallEcoScore()).setScale(2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+        }
+    }
+
+    /**
+     * Public leaderboard row (no contact details)
+     */
+    public static class LeaderboardEntry {
+        private final int rank;
+        private final Long landlordId;
+        private final String name;
+        private final String company;
+        private final boolean verified;
+        private final Double sustainabilityScore;
+        private final String sustainabilityLevel;
+        private final int totalProperties;
+
+        public LeaderboardEntry(int rank, Landlord landlord) {
+            this.rank = rank;
+            this.landlordId = landlord.getId();
+            this.name = landlord.getFullName();
+            this.company = landlord.getCompany();
+            this.verified = Boolean.TRUE.equals(landlord.getIsVerified());
+            this.sustainabilityScore = landlord.getSustainabilityScore();
+            this.sustainabilityLevel = landlord.getSustainabilityLevel();
+            this.totalProperties = landlord.getTotalProperties() != null ? landlord.getTotalProperties() : 0;
+        }
+
+        public int getRank() { return rank; }
+        public Long getLandlordId() { return landlordId; }
+        public String getName() { return name; }
+        public String getCompany() { return company; }
+        public boolean isVerified() { return verified; }
+        public Double getSustainabilityScore() { return sustainabilityScore; }
+        public String getSustainabilityLevel() { return sustainabilityLevel; }
+        public int getTotalProperties() { return totalProperties; }
+    }
+}
@@ -0,0 +1,36 @@
+package com.greenlease.service;
+
+import com.greenlease.model.Property;
+
+/**
+ * Published by {@link PropertyService} after a property is saved or deleted,
+ * so that in-process read models can stay in sync with the database.
+ */
+public class PropertyChangedEvent {
+    private final Long propertyId;
+    private final Property property;
+
+    private PropertyChangedEvent(Long propertyId, Property property) {
+        this.propertyId = propertyId;
+        this.property = property;
+    }
+
+    public static PropertyChangedEvent saved(Property property) {
+        return new PropertyChangedEvent(property.getId(), property);
+    }
+
+    public static PropertyChangedEvent deleted(Long propertyId) {
+        return new PropertyChangedEvent(propertyId, null);
+    }
+
+    public Long getPropertyId() { return propertyId; }
+
+    /**
+     * The saved state, or null when the property was deleted
+     */
+    public Property getProperty() { return property; }
+
+    public boolean isDeleted() {
+        return property == null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.greenlease.service;
+
+import com.greenlease.model.ContentVersion;
+import com.greenlease.model.SeekCursor;
+import com.greenlease.repository.PropertyDetailRepository;
+import com.greenlease.repository.PropertyDetailRepository.PropertyDetail;
+import com.greenlease.routing.ReadFromReplica;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Assembles the property detail page: the property, its feedback aggregates and
+ * one page of reviews, fetched together in a single query.
+ */
+@Service
+public class PropertyDetailService {
+
+    @Autowired
+    private PropertyDetailRepository propertyDetailRepository;
+
+    /**
+     * Get the detail view of a property; a malformed reviews cursor falls back to the newest reviews
+     */
+    @ReadFromReplica
+    public Optional<PropertyDetail> getPropertyDetail(Long propertyId, String reviewsCursor) {
+        SeekCursor after;
+        try {
+            after = SeekCursor.decode(reviewsCursor);
+        } catch (IllegalArgumentException e) {
+            after = null;
+        }
+        return propertyDetailRepository.findDetail(propertyId, after, FeedbackService.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Validator for the detail page, so an unchanged page can be answered without loading it
+     */
+    @ReadFromReplica
+    public Optional<ContentVersion> getDetailVersion(Long propertyId) {
+        return propertyDetailRepository.findVersion(propertyId);
+    }
+}
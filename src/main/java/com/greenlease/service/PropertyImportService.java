@@ -0,0 +1,501 @@
+package com.greenlease.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greenlease.model.EcoScoringModel;
+import com.greenlease.model.Property;
+import com.greenlease.repository.PropertyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk ingest of partner listings.
+ *
+ * Uploads are parsed as a stream, one row at a time, and written in chunks of
+ * {@code greenlease.import.batch-size} rows with a single JDBC batch per chunk.
+ * Invalid rows are skipped and reported; they never fail the rest of the upload.
+ */
+@Service
+public class PropertyImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PropertyImportService.class);
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private EcoScoringService ecoScoringService;
+
+    @Autowired
+    private LandlordService landlordService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${greenlease.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${greenlease.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    public PropertyImportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Import CSV with a header row. Header names may be column names (zip_code)
+     * or property names (zipCode); unknown columns are ignored.
+     */
+    public ImportReport importCsv(InputStream in) throws IOException {
+        ImportRun run = new ImportRun();
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            return run.finish();
+        }
+        List<String> keys = new ArrayList<>(header.size());
+        for (String name : header) {
+            keys.add(normalizeKey(name));
+        }
+
+        long row = 0;
+        try {
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                row++;
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue; // blank line
+                }
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < keys.size() && i < record.size(); i++) {
+                    fields.put(keys.get(i), record.get(i));
+                }
+                run.accept(row, fields);
+            }
+        } catch (IllegalStateException e) {
+            run.abort(row + 1, e.getMessage());
+        }
+        return run.finish();
+    }
+
+    /**
+     * Import either a JSON array of listing objects or newline-delimited JSON objects
+     */
+    public ImportReport importJson(InputStream in) throws IOException {
+        ImportRun run = new ImportRun();
+        long row = 0;
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                row++;
+                if (token == JsonToken.START_OBJECT) {
+                    JsonNode node = parser.readValueAsTree();
+                    run.accept(row, toFields(node));
+                } else {
+                    parser.skipChildren();
+                    run.reject(row, "Expected a JSON object but found " + token);
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            run.abort(row + 1, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        return run.finish();
+    }
+
+    private static Map<String, String> toFields(JsonNode node) {
+        Map<String, String> fields = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> it = node.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> field = it.next();
+            JsonNode value = field.getValue();
+            fields.put(normalizeKey(field.getKey()), value.isNull() ? null : value.asText());
+        }
+        return fields;
+    }
+
+    /**
+     * zip_code, zipCode and "Zip Code" all become zipcode
+     */
+    private static String normalizeKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replace("_", "").replace("-", "").replace(" ", "");
+    }
+
+    /**
+     * Build a property from one row, validating what the schema would otherwise reject
+     */
+    private static Property toProperty(Map<String, String> fields) {
+        Property property = new Property();
+        property.setTitle(required(fields, "title"));
+        property.setDescription(text(fields, "description"));
+        property.setAddress(required(fields, "address"));
+        property.setCity(required(fields, "city"));
+        property.setState(required(fields, "state"));
+        property.setZipCode(required(fields, "zipCode"));
+        property.setRent(decimal(fields, "rent"));
+        if (property.getRent() == null) {
+            throw new IllegalArgumentException("rent is required");
+        }
+        String type = text(fields, "propertyType");
+        property.setPropertyType(type != null ? type.toLowerCase(Locale.ROOT) : "apartment");
+        property.setBedrooms(integer(fields, "bedrooms"));
+        property.setBathrooms(integer(fields, "bathrooms"));
+        property.setSquareFootage(decimalValue(fields, "squareFootage"));
+        property.setInsulationRating(rating(fields, "insulationRating"));
+        property.setSolarPanels(bool(fields, "solarPanels"));
+        property.setSolarRating(rating(fields, "solarRating"));
+        property.setWaterConservationRating(rating(fields, "waterConservationRating"));
+        property.setGreenSpaceProximity(decimalValue(fields, "greenSpaceProximity"));
+        property.setEnergyEfficiencyRating(rating(fields, "energyEfficiencyRating"));
+        property.setLatitude(coordinate(fields, "latitude", 90));
+        property.setLongitude(coordinate(fields, "longitude", 180));
+        if (property.getLatitude() == null ^ property.getLongitude() == null) {
+            throw new IllegalArgumentException("latitude and longitude must be given together");
+        }
+        Integer landlordId = integer(fields, "landlordId");
+        property.setLandlordId(landlordId != null ? landlordId.longValue() : 1L); // Default landlord, as for the add form
+        property.setImageUrl(text(fields, "imageUrl"));
+        Boolean available = bool(fields, "isAvailable");
+        property.setIsAvailable(available != null ? available : true);
+        return property;
+    }
+
+    /**
+     * Value of the column named {@code key} (as written in messages) in any of its spellings
+     */
+    private static String text(Map<String, String> fields, String key) {
+        String value = fields.get(normalizeKey(key));
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String required(Map<String, String> fields, String key) {
+        String value = text(fields, key);
+        if (value == null) {
+            throw new IllegalArgumentException(key + " is required");
+        }
+        return value;
+    }
+
+    private static BigDecimal decimal(Map<String, String> fields, String key) {
+        String value = text(fields, key);
+        try {
+            return value != null ? new BigDecimal(value) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + key + ": '" + value + "'");
+        }
+    }
+
+    private static Double decimalValue(Map<String, String> fields, String key) {
+        BigDecimal value = decimal(fields, key);
+        return value != null ? value.doubleValue() : null;
+    }
+
+    private static Integer integer(Map<String, String> fields, String key) {
+        String value = text(fields, key);
+        try {
+            return value != null ? Integer.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + key + ": '" + value + "'");
+        }
+    }
+
+    private static Integer rating(Map<String, String> fields, String key) {
+        Integer value = integer(fields, key);
+        if (value != null && (value < 0 || value > 10)) {
+            throw new IllegalArgumentException(key + " must be between 0 and 10: " + value);
+        }
+        return value;
+    }
+
+    private static Double coordinate(Map<String, String> fields, String key, double bound) {
+        Double value = decimalValue(fields, key);
+        if (value != null && (value < -bound || value > bound)) {
+            throw new IllegalArgumentException(key + " must be between " + -bound + " and " + bound + ": " + value);
+        }
+        return value;
+    }
+
+    private static Boolean bool(Map<String, String> fields, String key) {
+        String value = text(fields, key);
+        if (value == null) {
+            return null;
+        }
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "y", "1":
+                return true;
+            case "false", "no", "n", "0":
+                return false;
+            default:
+                throw new IllegalArgumentException("Invalid " + key + ": '" + value + "'");
+        }
+    }
+
+    /**
+     * State of one upload: the pending chunk and the running report
+     */
+    private class ImportRun {
+        private final long start = System.nanoTime();
+        // Checked once per upload rather than per row
+        private final EcoScoringModel model = ecoScoringService.getCurrentModel();
+        private final List<Property> pending = new ArrayList<>(batchSize);
+        private final List<Long> pendingRows = new ArrayList<>(batchSize);
+        private final List<RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedRows;
+        private long failedRows;
+        private boolean aborted;
+
+        void accept(long row, Map<String, String> fields) {
+            totalRows++;
+            Property property;
+            try {
+                property = toProperty(fields);
+            } catch (IllegalArgumentException e) {
+                failedRows++;
+                addError(row, e.getMessage());
+                return;
+            }
+            property.setOverallEcoScore(model.score(property));
+            pending.add(property);
+            pendingRows.add(row);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String message) {
+            totalRows++;
+            failedRows++;
+            addError(row, message);
+        }
+
+        /**
+         * Stop reading after unparseable input; rows before it are still imported
+         */
+        void abort(long row, String message) {
+            aborted = true;
+            addError(row, message);
+        }
+
+        ImportReport finish() {
+            flush();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            log.info("Imported {} of {} rows ({} failed) in {} ms", importedRows, totalRows, failedRows, elapsedMillis);
+            return new ImportReport(totalRows, importedRows, failedRows, aborted, errors,
+                                    failedRows > errors.size(), elapsedMillis);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Property> saved;
+            try {
+                saved = transactionTemplate.execute(status -> {
+                    List<Property> inserted = propertyRepository.insertBatch(pending);
+                    landlordService.listingsAdded(inserted);
+                    return inserted;
+                });
+            } catch (DataAccessException e) {
+                // The chunk was rolled back; insert row by row to find the rows the database rejects
+                saved = new ArrayList<>();
+                for (int i = 0; i < pending.size(); i++) {
+                    Property property = pending.get(i);
+                    property.setId(null);
+                    try {
+                        saved.add(transactionTemplate.execute(status -> {
+                            Property inserted = propertyRepository.save(property);
+                            landlordService.listingsAdded(List.of(inserted));
+                            return inserted;
+                        }));
+                    } catch (DataAccessException rowError) {
+                        // The driver message carries the SQL and constraint names; keep those in the log
+                        log.warn("Import row {} rejected: {}", pendingRows.get(i), rowError.getMostSpecificCause().getMessage());
+                        failedRows++;
+                        addError(pendingRows.get(i), describe(rowError, property));
+                    }
+                }
+            }
+            importedRows += saved.size();
+            for (Property property : saved) {
+                eventPublisher.publishEvent(PropertyChangedEvent.saved(property));
+            }
+            pending.clear();
+            pendingRows.clear();
+        }
+
+        private String describe(DataAccessException e, Property property) {
+            if (e instanceof DuplicateKeyException) {
+                return "duplicate listing";
+            }
+            if (e instanceof DataIntegrityViolationException) {
+                if (landlordService.getLandlordById(property.getLandlordId()).isEmpty()) {
+                    return "unknown landlord: " + property.getLandlordId();
+                }
+                return "a value is missing or too long";
+            }
+            return "could not be saved";
+        }
+
+        private void addError(long row, String message) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(row, message));
+            }
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: quoted fields may contain commas, doubled quotes and line breaks.
+     * The reader must support mark/reset.
+     */
+    static class CsvReader {
+        private final Reader reader;
+        private boolean started;
+        private boolean eof;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        List<String> readRecord() throws IOException {
+            if (eof) {
+                return null;
+            }
+            if (!started) {
+                // Excel writes a UTF-8 byte order mark, which trim() keeps on the first header
+                started = true;
+                reader.mark(1);
+                if (reader.read() != '\uFEFF') {
+                    reader.reset();
+                }
+            }
+            List<String> record = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    record.add(field.toString());
+                    return record;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            eof = true;
+            if (quoted) {
+                throw new IllegalStateException("Unterminated quoted field");
+            }
+            if (!any) {
+                return null;
+            }
+            record.add(field.toString());
+            return record;
+        }
+    }
+
+    /**
+     * A row that was not imported. Row numbers count data rows from 1 (the CSV header is not counted).
+     */
+    public static class RowError {
+        private final long row;
+        private final String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() { return row; }
+        public String getMessage() { return message; }
+    }
+
+    /**
+     * Outcome of one upload
+     */
+    public static class ImportReport {
+        private final long totalRows;
+        private final long importedRows;
+        private final long failedRows;
+        private final boolean aborted;
+        private final List<RowError> errors;
+        private final boolean errorsTruncated;
+        private final long elapsedMillis;
+
+        public ImportReport(long totalRows, long importedRows, long failedRows, boolean aborted,
+                            List<RowError> errors, boolean errorsTruncated, long elapsedMillis) {
+            this.totalRows = totalRows;
+            this.importedRows = importedRows;
+            this.failedRows = failedRows;
+            this.aborted = aborted;
+            this.errors = errors;
+            this.errorsTruncated = errorsTruncated;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public long getTotalRows() { return totalRows; }
+        public long getImportedRows() { return importedRows; }
+        public long getFailedRows() { return failedRows; }
+        public boolean isAborted() { return aborted; }
+        public List<RowError> getErrors() { return errors; }
+        public boolean isErrorsTruncated() { return errorsTruncated; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public double getRowsPerSecond() {
+            return elapsedMillis > 0 ? importedRows * 1000.0 / elapsedMillis : importedRows;
+        }
+    }
+}
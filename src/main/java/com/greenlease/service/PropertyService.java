@@ -1,13 +1,22 @@
 package com.greenlease.service;
 
+import com.greenlease.index.PropertyColumnIndex;
+import com.greenlease.index.PropertyTextIndex;
+import com.greenlease.model.CursorPage;
 import com.greenlease.model.Property;
+import com.greenlease.model.PropertySearchCriteria;
+import com.greenlease.model.PropertySummary;
+import com.greenlease.model.SeekCursor;
 import com.greenlease.repository.PropertyRepository;
 import com.greenlease.repository.FeedbackRepository;
+import com.greenlease.routing.ReadFromReplica;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -16,116 +25,133 @@ import java.util.Optional;
 @Service
 public class PropertyService {
     
+    public static final int DEFAULT_PAGE_SIZE = 12;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final double EXCELLENT_ECO_SCORE = 8.0;
+    
     @Autowired
     private PropertyRepository propertyRepository;
     
-    @SuppressWarnings("unused")
     @Autowired
     private FeedbackRepository feedbackRepository;
     
-    public List<Property> getAllProperties() {
-        return propertyRepository.findAll();
-    }
+    @Autowired(required = false)
+    private PropertyColumnIndex columnIndex;
     
-    public List<Property> getAvailableProperties() {
-        return propertyRepository.findAvailable();
-    }
+    @Autowired(required = false)
+    private PropertyTextIndex textIndex;
+    
+    @Autowired
+    private EcoScoringService ecoScoringService;
+    
+    @Autowired
+    private LandlordService landlordService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     public Optional<Property> getPropertyById(Long id) {
         return propertyRepository.findById(id);
     }
     
-    public List<Property> searchByCity(String city) {
-        return propertyRepository.findByCity(city);
+    /**
+     * Page through all properties, highest eco score first
+     */
+    @ReadFromReplica
+    public CursorPage<PropertySummary> getAllProperties(String cursor, int size) {
+        return propertyRepository.findAll(SeekCursor.decode(cursor), clampPageSize(size));
     }
     
-    public List<Property> filterByEcoScore(double minScore, double maxScore) {
-        return propertyRepository.findByEcoScoreRange(minScore, maxScore);
+    /**
+     * Search available properties with all supplied filters combined, one page at a time
+     */
+    @ReadFromReplica
+    public CursorPage<PropertySummary> searchProperties(PropertySearchCriteria criteria, String cursor, int size) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        if (columnIndex != null && columnIndex.isReady()) {
+            return columnIndex.search(criteria, after, clampPageSize(size));
+        }
+        return propertyRepository.search(criteria, after, clampPageSize(size));
     }
     
-    public List<Property> filterByRent(BigDecimal minRent, BigDecimal maxRent) {
-        return propertyRepository.findByRentRange(minRent, maxRent);
+    /**
+     * Ranked keyword search over title, description, address and city, one page at a time
+     */
+    @ReadFromReplica
+    public CursorPage<PropertySummary> searchText(String query, String cursor, int size) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        if (textIndex != null && textIndex.isReady()) {
+            return textIndex.search(query, after, clampPageSize(size));
+        }
+        return propertyRepository.searchKeyword(query.trim(), after, clampPageSize(size));
     }
     
-    public List<Property> filterBySolarPanels(boolean hasSolar) {
-        return propertyRepository.findBySolarPanels(hasSolar);
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
     
     public Property saveProperty(Property property) {
-        // Calculate overall eco score before saving
-        calculateOverallEcoScore(property);
-        return propertyRepository.save(property);
+        // Calculate overall eco score before saving, with the model active right now
+        property.setOverallEcoScore(ecoScoringService.getCurrentModel().score(property));
+        boolean isNew = property.getId() == null;
+        Property saved = transactionTemplate.execute(status -> {
+            Optional<Property> previous = isNew ? Optional.empty() : propertyRepository.lockLandlordShare(property.getId());
+            Property result = propertyRepository.save(property);
+            // An update of a row that no longer exists writes nothing
+            if (isNew || previous.isPresent()) {
+                landlordService.listingSaved(previous.orElse(null), result);
+            }
+            return result;
+        });
+        eventPublisher.publishEvent(PropertyChangedEvent.saved(saved));
+        return saved;
     }
     
     public void deleteProperty(Long id) {
-        propertyRepository.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> propertyRepository.lockLandlordShare(id).ifPresent(previous -> {
+            propertyRepository.deleteById(id);
+            landlordService.listingDeleted(previous);
+        }));
+        feedbackRepository.evictByPropertyId(id);
+        eventPublisher.publishEvent(PropertyChangedEvent.deleted(id));
     }
     
     /**
-     * Calculate overall eco score based on various eco-rating factors
+     * Calculate overall eco score with the active scoring model's weights
      */
-    private void calculateOverallEcoScore(Property property) {
-        double totalScore = 0.0;
-        int factorCount = 0;
-        
-        // Insulation rating (weight: 20%)
-        if (property.getInsulationRating() != null && property.getInsulationRating() > 0) {
-            totalScore += property.getInsulationRating() * 0.2;
-            factorCount++;
-        }
-        
-        // Solar rating (weight: 25%)
-        if (property.getSolarRating() != null && property.getSolarRating() > 0) {
-            totalScore += property.getSolarRating() * 0.25;
-            factorCount++;
-        }
-        
-        // Water conservation rating (weight: 20%)
-        if (property.getWaterConservationRating() != null && property.getWaterConservationRating() > 0) {
-            totalScore += property.getWaterConservationRating() * 0.2;
-            factorCount++;
-        }
-        
-        // Energy efficiency rating (weight: 25%)
-        if (property.getEnergyEfficiencyRating() != null && property.getEnergyEfficiencyRating() > 0) {
-            totalScore += property.getEnergyEfficiencyRating() * 0.25;
-            factorCount++;
-        }
-        
-        // Green space proximity (weight: 10%) - inverse scoring (closer is better)
-        if (property.getGreenSpaceProximity() != null) {
-            double proximityScore = Math.max(0, 10 - property.getGreenSpaceProximity());
-            totalScore += proximityScore * 0.1;
-            factorCount++;
-        }
-        
-        // Calculate average score
-        if (factorCount > 0) {
-            property.setOverallEcoScore(Math.round(totalScore * 100.0) / 100.0);
-        } else {
-            property.setOverallEcoScore(0.0);
-        }
+    void calculateOverallEcoScore(Property property) {
+        property.setOverallEcoScore(ecoScoringService.score(property));
     }
     
     /**
-     * Get properties with excellent eco ratings (8.0+)
+     * Get the top available properties with excellent eco ratings (8.0+)
      */
-    public List<Property> getEcoExcellentProperties() {
-        return propertyRepository.findByEcoScoreRange(8.0, 10.0);
+    public List<PropertySummary> getEcoExcellentProperties(int limit) {
+        PropertySearchCriteria criteria = PropertySearchCriteria.ecoScoreRange(EXCELLENT_ECO_SCORE, 10.0);
+        return propertyRepository.search(criteria, null, limit).getItems();
     }
     
     /**
      * Get eco-friendly statistics
      */
     public EcoStatistics getEcoStatistics() {
-        long totalProperties = propertyRepository.count();
-        double averageEcoScore = propertyRepository.getAverageEcoScore();
-        long solarProperties = propertyRepository.findBySolarPanels(true).size();
-        long excellentProperties = getEcoExcellentProperties().size();
+        Map<String, Object> row = propertyRepository.aggregateEcoStatistics(EXCELLENT_ECO_SCORE);
+        long totalProperties = toLong(row.get("total_count"));
+        double averageEcoScore = row.get("average_eco_score") != null
+            ? ((Number) row.get("average_eco_score")).doubleValue() : 0.0;
+        long solarProperties = toLong(row.get("solar_count"));
+        long excellentProperties = toLong(row.get("excellent_count"));
         
         return new EcoStatistics(totalProperties, averageEcoScore, solarProperties, excellentProperties);
     }
     
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+    
     /**
      * Inner class for eco statistics
      */
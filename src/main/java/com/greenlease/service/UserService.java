@@ -1,10 +1,15 @@
 package com.greenlease.service;
 
+import com.greenlease.metrics.RequestQueryStats;
 import com.greenlease.model.User;
 import com.greenlease.repository.UserRepository;
+import com.greenlease.security.BoundedPasswordEncoder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -12,18 +17,30 @@ import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
- * Service for user management and authentication
+ * Service for user management and authentication.
+ * User lookups are served from the repository's user cache, so a login costs no query once
+ * the user has been seen; each call still builds fresh UserDetails because Spring Security
+ * erases the password from the principal after authenticating.
  */
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private BoundedPasswordEncoder passwordEncoder;
+
+    /**
+     * Spring MVC's async executor; the password pool is kept for BCrypt alone
+     */
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -47,21 +64,50 @@ public class UserService implements UserDetailsService {
     }
 
     /**
-     * Register a new user
+     * Store a rehashed password after login (see {@link PasswordEncoder#upgradeEncoding})
      */
-    public User registerUser(String username, String password, String email) {
-        if (userRepository.existsByUsername(username)) {
-            throw new IllegalArgumentException("Username already exists");
-        }
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+            .password(newPassword)
+            .build();
+    }
 
-        User user = new User();
-        user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(password));
-        user.setEmail(email);
-        user.setRole("USER");
-        user.setEnabled(true);
+    /**
+     * Change a user's role; takes effect at their next login
+     */
+    public void changeRole(String username, String role) {
+        if (!userRepository.updateRole(username, role)) {
+            throw new IllegalArgumentException("User not found: " + username);
+        }
+    }
 
-        return userRepository.save(user);
+    /**
+     * Register a new user with a single INSERT; the unique constraints on username and email
+     * decide concurrent signups, and a violation is reported as which of the two is taken.
+     * The password is hashed on the password pool and the insert runs after it on the MVC task
+     * executor, counted towards the calling request, so the caller's thread is not held for either.
+     */
+    public CompletableFuture<User> registerUser(String username, String password, String email) {
+        Executor insertExecutor = RequestQueryStats.inCurrentRequest(taskExecutor);
+        return passwordEncoder.encodeAsync(password).thenApplyAsync(hash -> {
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(hash);
+            user.setEmail(email);
+            user.setRole("USER");
+            user.setEnabled(true);
+            try {
+                return userRepository.save(user);
+            } catch (DuplicateKeyException e) {
+                // Rare path: one lookup to tell the two constraints apart portably
+                if (userRepository.existsByUsername(username)) {
+                    throw new IllegalArgumentException("Username already exists");
+                }
+                throw new IllegalArgumentException("An account with this email already exists");
+            }
+        }, insertExecutor);
     }
 
     /**
@@ -0,0 +1,75 @@
+package com.greenlease.view;
+
+import com.greenlease.cache.EntityCache;
+import com.greenlease.model.PropertySummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.context.IWebContext;
+import org.thymeleaf.context.WebContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders template fragments through the fragment cache, called from templates as e.g.
+ * {@code th:utext="${@fragmentRenderer.propertyCard(#ctx, 'listCard', property)}"}.
+ *
+ * A fragment is rendered with the calling template's variables and request, so its links and
+ * expressions resolve as they would inline. Keys must change whenever the output would:
+ * cards are keyed by property id and updated_at, review sections by the feedback stats version,
+ * and every key includes the locale, which number and date formatting depend on.
+ * With {@code greenlease.cache.fragment.enabled=false} (development) every call renders afresh.
+ */
+@Component
+public class FragmentRenderer {
+
+    private static final String PROPERTY_CARDS = "fragments/property-cards";
+    private static final String FEEDBACK = "fragments/feedback";
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    @Autowired
+    private EntityCache<String, String> fragmentCache;
+
+    @Value("${greenlease.cache.fragment.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * One property card; {@code fragment} selects the card layout in fragments/property-cards
+     */
+    public String propertyCard(IContext context, String fragment, PropertySummary property) {
+        return render(context, PROPERTY_CARDS, fragment, property.getId() + "@" + property.getVersion());
+    }
+
+    /**
+     * Review summary and one page of reviews of the property detail page
+     */
+    public String feedbackSection(IContext context, String key) {
+        return render(context, FEEDBACK, "reviews", key);
+    }
+
+    private String render(IContext context, String template, String fragment, String key) {
+        if (!enabled) {
+            return process(context, template, fragment);
+        }
+        return fragmentCache.get(template + "::" + fragment + ":" + context.getLocale() + ":" + key,
+                                 k -> process(context, template, fragment));
+    }
+
+    private String process(IContext context, String template, String fragment) {
+        Map<String, Object> variables = new HashMap<>();
+        for (String name : context.getVariableNames()) {
+            variables.put(name, context.getVariable(name));
+        }
+        IContext fragmentContext = context instanceof IWebContext web
+            ? new WebContext(web.getExchange(), context.getLocale(), variables)
+            : new Context(context.getLocale(), variables);
+        return templateEngine.process(template, Set.of(fragment), fragmentContext);
+    }
+}
@@ -28,8 +28,9 @@ CREATE TABLE IF NOT EXISTS landlords (
     phone VARCHAR(20),
     company VARCHAR(255),
     is_verified BOOLEAN DEFAULT FALSE,
-    sustainability_score DECIMAL(3,2) DEFAULT 0.00,
+    sustainability_score DECIMAL(4,2) DEFAULT 0.00,
     total_properties INT DEFAULT 0,
+    eco_score_sum DECIMAL(14,2), -- running sum of listing eco scores; NULL until backfilled below
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
@@ -58,10 +59,15 @@ CREATE TABLE IF NOT EXISTS properties (
     energy_efficiency_rating INT DEFAULT 0 CHECK (energy_efficiency_rating >= 0 AND energy_efficiency_rating <= 10),
     overall_eco_score DECIMAL(4,2) DEFAULT 0.00,
     
+    -- Location (WGS84 degrees)
+    latitude DECIMAL(9,6),
+    longitude DECIMAL(9,6),
+    
     -- Additional fields
     landlord_id BIGINT,
     image_url VARCHAR(500),
     is_available BOOLEAN DEFAULT TRUE,
+    version BIGINT NOT NULL DEFAULT 0, -- bumped by every update, unlike updated_at never equal twice
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
@@ -91,14 +97,90 @@ CREATE TABLE IF NOT EXISTS feedback (
     FOREIGN KEY (property_id) REFERENCES properties(id) ON DELETE CASCADE
 );
 
+-- Table: property_feedback_stats (running feedback aggregates, maintained by FeedbackRepository)
+CREATE TABLE IF NOT EXISTS property_feedback_stats (
+    property_id BIGINT PRIMARY KEY,
+    total_count BIGINT NOT NULL DEFAULT 0,
+    verified_count BIGINT NOT NULL DEFAULT 0,
+    recommended_count BIGINT NOT NULL DEFAULT 0,
+    
+    -- Sums over verified feedback; eco and feature ratings only count when rated (> 0)
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    eco_rating_sum BIGINT NOT NULL DEFAULT 0,
+    eco_rating_count BIGINT NOT NULL DEFAULT 0,
+    insulation_sum BIGINT NOT NULL DEFAULT 0,
+    insulation_count BIGINT NOT NULL DEFAULT 0,
+    energy_bill_sum BIGINT NOT NULL DEFAULT 0,
+    energy_bill_count BIGINT NOT NULL DEFAULT 0,
+    solar_system_sum BIGINT NOT NULL DEFAULT 0,
+    solar_system_count BIGINT NOT NULL DEFAULT 0,
+    water_efficiency_sum BIGINT NOT NULL DEFAULT 0,
+    water_efficiency_count BIGINT NOT NULL DEFAULT 0,
+    green_space_sum BIGINT NOT NULL DEFAULT 0,
+    green_space_count BIGINT NOT NULL DEFAULT 0,
+    
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    FOREIGN KEY (property_id) REFERENCES properties(id) ON DELETE CASCADE
+);
+
+-- Table: eco_scoring_models (versioned weights for overall_eco_score; exactly one is active)
+CREATE TABLE IF NOT EXISTS eco_scoring_models (
+    version BIGINT PRIMARY KEY AUTO_INCREMENT,
+    description VARCHAR(255),
+    insulation_weight DECIMAL(5,4) NOT NULL,
+    solar_weight DECIMAL(5,4) NOT NULL,
+    water_conservation_weight DECIMAL(5,4) NOT NULL,
+    energy_efficiency_weight DECIMAL(5,4) NOT NULL,
+    green_space_weight DECIMAL(5,4) NOT NULL,
+    green_space_max_distance DECIMAL(5,2) NOT NULL, -- proximity scores max(0, this - distance)
+    is_active BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Table: eco_rescore_jobs (progress and resume checkpoint of background rescoring)
+CREATE TABLE IF NOT EXISTS eco_rescore_jobs (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    model_version BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL, -- RUNNING, PAUSED, COMPLETED, FAILED
+    last_property_id BIGINT NOT NULL DEFAULT 0, -- every property up to this id has been rescored
+    total_count BIGINT NOT NULL DEFAULT 0,
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    updated_count BIGINT NOT NULL DEFAULT 0,
+    error_message VARCHAR(500),
+    started_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP NULL,
+    
+    FOREIGN KEY (model_version) REFERENCES eco_scoring_models(version)
+);
+
+-- Location columns for databases created before they existed
+-- (fails harmlessly when the column is already there, see spring.sql.init.continue-on-error)
+ALTER TABLE properties ADD COLUMN latitude DECIMAL(9,6);
+ALTER TABLE properties ADD COLUMN longitude DECIMAL(9,6);
+
+-- Row version for ETags and cached cards (same as above for older databases)
+ALTER TABLE properties ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Landlord aggregates maintained incrementally (same as above for older databases)
+ALTER TABLE landlords ADD COLUMN eco_score_sum DECIMAL(14,2);
+ALTER TABLE landlords MODIFY COLUMN sustainability_score DECIMAL(4,2) DEFAULT 0.00;
+
 -- Create indexes for better performance (if not exists)
 CREATE INDEX IF NOT EXISTS idx_properties_city ON properties(city);
 CREATE INDEX IF NOT EXISTS idx_properties_eco_score ON properties(overall_eco_score);
 CREATE INDEX IF NOT EXISTS idx_properties_rent ON properties(rent);
 CREATE INDEX IF NOT EXISTS idx_properties_available ON properties(is_available);
 CREATE INDEX IF NOT EXISTS idx_properties_solar ON properties(solar_panels);
+CREATE INDEX IF NOT EXISTS idx_properties_available_eco ON properties(is_available, overall_eco_score);
 CREATE INDEX IF NOT EXISTS idx_feedback_property ON feedback(property_id);
 CREATE INDEX IF NOT EXISTS idx_feedback_verified ON feedback(is_verified);
+CREATE INDEX IF NOT EXISTS idx_feedback_property_created ON feedback(property_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_feedback_created ON feedback(created_at);
+CREATE INDEX IF NOT EXISTS idx_landlords_sustainability ON landlords(sustainability_score);
+CREATE INDEX IF NOT EXISTS idx_properties_landlord ON properties(landlord_id);
 
 -- Insert sample users (password is 'password' encrypted with BCrypt) - Only if not exists
 INSERT INTO users (username, password, email, role, enabled, created_at) VALUES 
@@ -126,6 +208,12 @@ INSERT INTO landlords (id, first_name, last_name, email, phone, company, is_veri
 (4, 'Lisa', 'Davis', 'lisa.davis@greenvision.com', '555-0104', 'Green Vision Properties', TRUE, 8.9, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
 ON DUPLICATE KEY UPDATE email=email;
 
+-- Initial eco scoring model (the original hard-coded weights)
+INSERT INTO eco_scoring_models (version, description, insulation_weight, solar_weight, water_conservation_weight,
+                                energy_efficiency_weight, green_space_weight, green_space_max_distance, is_active) VALUES
+(1, 'Initial weights', 0.2000, 0.2500, 0.2000, 0.2500, 0.1000, 10.00, TRUE)
+ON DUPLICATE KEY UPDATE version=version;
+
 -- Insert sample properties with eco-ratings - Only if not exists
 INSERT INTO properties (id, title, description, address, city, state, zip_code, rent, property_type, bedrooms, bathrooms, square_footage, insulation_rating, solar_panels, solar_rating, water_conservation_rating, green_space_proximity, energy_efficiency_rating, overall_eco_score, landlord_id, image_url, is_available, created_at, updated_at) VALUES 
 (1, 'Eco-Luxury Downtown Apartment', 'Modern 2-bedroom apartment with solar panels, energy-efficient appliances, and excellent insulation. Located near MG Road with easy access to public transportation.', '123 Green Avenue', 'Bangalore', 'Karnataka', '560001', 35000.00, 'apartment', 2, 2, 1200.00, 9, TRUE, 9, 8, 0.2, 9, 8.84, 1, 'https://images.unsplash.com/photo-1560518883-ce09059eeffa', TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
@@ -147,6 +235,13 @@ INSERT INTO properties (id, title, description, address, city, state, zip_code,
 (5, 'Energy-Efficient Townhouse', 'Spacious 3-bedroom townhouse with smart thermostats, LED lighting throughout, and water-efficient landscaping.', '654 Adyar Main Road', 'Chennai', 'Tamil Nadu', '600020', 25000.00, 'townhouse', 3, 3, 1500.00, 7, FALSE, 0, 8, 0.5, 8, 6.90, 1, 'https://images.unsplash.com/photo-1564013799919-ab600027ffc6', TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
 ON DUPLICATE KEY UPDATE title=title;
 
+-- Sample property locations
+UPDATE properties SET latitude = 12.975600, longitude = 77.605000 WHERE id = 1 AND latitude IS NULL;
+UPDATE properties SET latitude = 13.085000, longitude = 80.210100 WHERE id = 2 AND latitude IS NULL;
+UPDATE properties SET latitude = 12.969800, longitude = 79.155900 WHERE id = 3 AND latitude IS NULL;
+UPDATE properties SET latitude = 12.978400, longitude = 77.640800 WHERE id = 4 AND latitude IS NULL;
+UPDATE properties SET latitude = 13.001200, longitude = 80.256500 WHERE id = 5 AND latitude IS NULL;
+
 -- Insert sample feedback
 INSERT INTO feedback (
     property_id, tenant_name, tenant_email, overall_rating, eco_rating, comment, 
@@ -169,7 +264,58 @@ INSERT INTO feedback (
  'Love the sustainable features and the city views. The water-saving fixtures work well and the building management is responsive.', 
  TRUE, TRUE, 4, 4, 4, 5, 3);
 
--- Update landlord statistics based on properties
+-- Rebuild feedback aggregates from the seeded feedback
+INSERT INTO property_feedback_stats (
+    property_id, total_count, verified_count, recommended_count, rating_sum,
+    eco_rating_sum, eco_rating_count, insulation_sum, insulation_count,
+    energy_bill_sum, energy_bill_count, solar_system_sum, solar_system_count,
+    water_efficiency_sum, water_efficiency_count, green_space_sum, green_space_count,
+    version, updated_at
+)
+SELECT property_id,
+    COUNT(*),
+    SUM(CASE WHEN is_verified THEN 1 ELSE 0 END),
+    SUM(CASE WHEN is_recommended THEN 1 ELSE 0 END),
+    SUM(CASE WHEN is_verified THEN overall_rating ELSE 0 END),
+    SUM(CASE WHEN is_verified AND eco_rating > 0 THEN eco_rating ELSE 0 END),
+    SUM(CASE WHEN is_verified AND eco_rating > 0 THEN 1 ELSE 0 END),
+    SUM(CASE WHEN is_verified AND insulation_experience > 0 THEN insulation_experience ELSE 0 END),
+    SUM(CASE WHEN is_verified AND insulation_experience > 0 THEN 1 ELSE 0 END),
+    SUM(CASE WHEN is_verified AND energy_bill_satisfaction > 0 THEN energy_bill_satisfaction ELSE 0 END),
+    SUM(CASE WHEN is_verified AND energy_bill_satisfaction > 0 THEN 1 ELSE 0 END),
+    SUM(CASE WHEN is_verified AND solar_system_satisfaction > 0 THEN solar_system_satisfaction ELSE 0 END),
+    SUM(CASE WHEN is_verified AND solar_system_satisfaction > 0 THEN 1 ELSE 0 END),
+    SUM(CASE WHEN is_verified AND water_efficiency_satisfaction > 0 THEN water_efficiency_satisfaction ELSE 0 END),
+    SUM(CASE WHEN is_verified AND water_efficiency_satisfaction > 0 THEN 1 ELSE 0 END),
+    SUM(CASE WHEN is_verified AND green_space_satisfaction > 0 THEN green_space_satisfaction ELSE 0 END),
+    SUM(CASE WHEN is_verified AND green_space_satisfaction > 0 THEN 1 ELSE 0 END),
+    1, CURRENT_TIMESTAMP
+FROM feedback
+GROUP BY property_id
+ON DUPLICATE KEY UPDATE
+    total_count = VALUES(total_count),
+    verified_count = VALUES(verified_count),
+    recommended_count = VALUES(recommended_count),
+    rating_sum = VALUES(rating_sum),
+    eco_rating_sum = VALUES(eco_rating_sum),
+    eco_rating_count = VALUES(eco_rating_count),
+    insulation_sum = VALUES(insulation_sum),
+    insulation_count = VALUES(insulation_count),
+    energy_bill_sum = VALUES(energy_bill_sum),
+    energy_bill_count = VALUES(energy_bill_count),
+    solar_system_sum = VALUES(solar_system_sum),
+    solar_system_count = VALUES(solar_system_count),
+    water_efficiency_sum = VALUES(water_efficiency_sum),
+    water_efficiency_count = VALUES(water_efficiency_count),
+    green_space_sum = VALUES(green_space_sum),
+    green_space_count = VALUES(green_space_count),
+    version = version + 1,
+    updated_at = CURRENT_TIMESTAMP;
+
+-- Backfill landlord statistics once per landlord (new rows, or databases that predate eco_score_sum);
+-- after that LandlordService keeps them current with delta updates as listings change
 UPDATE landlords l SET 
     total_properties = (SELECT COUNT(*) FROM properties p WHERE p.landlord_id = l.id),
-    sustainability_score = (SELECT AVG(overall_eco_score) FROM properties p WHERE p.landlord_id = l.id);
\ No newline at end of file
+    sustainability_score = (SELECT ROUND(AVG(overall_eco_score), 2) FROM properties p WHERE p.landlord_id = l.id),
+    eco_score_sum = (SELECT COALESCE(SUM(overall_eco_score), 0) FROM properties p WHERE p.landlord_id = l.id)
+WHERE l.eco_score_sum IS NULL;
\ No newline at end of file
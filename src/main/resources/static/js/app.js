@@ -42,20 +42,44 @@ document.addEventListener('DOMContentLoaded', function() {
     // Search functionality
     function initializeSearch() {
         const cityInput = document.getElementById('city');
-        if (cityInput) {
-            // Add autocomplete functionality
+        if (cityInput && cityInput.form) {
+            // Live city suggestions, resolved relative to the form action so the context path is kept
+            const suggestUrl = new URL('api/search/cities', cityInput.form.action);
+            let debounce;
             cityInput.addEventListener('input', function() {
-                const query = this.value;
-                if (query.length > 2) {
-                    // Here you could implement AJAX city suggestions
-                    // fetch('/api/search/cities?query=' + encodeURIComponent(query))
-                    //     .then(response => response.json())
-                    //     .then(cities => showCitySuggestions(cities));
+                const query = this.value.trim();
+                clearTimeout(debounce);
+                if (query.length > 0) {
+                    debounce = setTimeout(function() {
+                        suggestUrl.searchParams.set('query', query);
+                        fetch(suggestUrl)
+                            .then(response => response.ok ? response.json() : [])
+                            .then(cities => showCitySuggestions(cityInput, cities))
+                            .catch(() => {});
+                    }, 150);
                 }
             });
         }
     }
 
+    function showCitySuggestions(cityInput, cities) {
+        let list = document.getElementById('city-suggestions');
+        if (!list) {
+            list = document.createElement('datalist');
+            list.id = 'city-suggestions';
+            document.body.appendChild(list);
+            cityInput.setAttribute('list', list.id);
+            cityInput.setAttribute('autocomplete', 'off');
+        }
+        list.innerHTML = '';
+        cities.forEach(function(suggestion) {
+            const option = document.createElement('option');
+            option.value = suggestion.city;
+            option.label = suggestion.state + ' (' + suggestion.availableListings + ' available)';
+            list.appendChild(option);
+        });
+    }
+
     // Property filters
     function initializeFilters() {
         const filterForms = document.querySelectorAll('form[action*="/properties"]');
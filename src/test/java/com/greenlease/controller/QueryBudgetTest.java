@@ -0,0 +1,150 @@
+package com.greenlease.controller;
+
+import com.greenlease.metrics.QueryBudget;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The main routes stay within their {@link QueryBudget} on H2, with
+ * {@code greenlease.query-budget.fail-on-exceed=true} turning any overrun into a failed request
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class QueryBudgetTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private long propertyId;
+
+    @BeforeEach
+    void findProperty() {
+        propertyId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM properties", Long.class);
+    }
+
+    @Test
+    void home() throws Exception {
+        mvc.perform(get("/")).andExpect(status().isOk());
+    }
+
+    @Test
+    void list() throws Exception {
+        mvc.perform(get("/properties")).andExpect(status().isOk());
+        mvc.perform(get("/properties").param("city", "Bangalore").param("minEcoScore", "6"))
+            .andExpect(status().isOk());
+        mvc.perform(get("/properties").param("minRent", "800").param("maxRent", "50000").param("bedrooms", "2"))
+            .andExpect(status().isOk());
+        mvc.perform(get("/properties").param("q", "solar")).andExpect(status().isOk());
+    }
+
+    @Test
+    void detail() throws Exception {
+        String etag = mvc.perform(get("/properties/" + propertyId))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(get("/properties/" + propertyId).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void eco() throws Exception {
+        for (String rating : new String[] {"excellent", "good", "fair", "all"}) {
+            mvc.perform(get("/search/eco").param("rating", rating)).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void feedback() throws Exception {
+        mvc.perform(get("/feedback/add/" + propertyId)).andExpect(status().isOk());
+        mvc.perform(post("/feedback/add")
+                .param("propertyId", String.valueOf(propertyId))
+                .param("tenantName", "Budget Test")
+                .param("tenantEmail", "budget@example.com")
+                .param("overallRating", "4")
+                .param("ecoRating", "5")
+                .param("isRecommended", "true")
+                .param("comment", "Checked by QueryBudgetTest."))
+            .andExpect(status().is3xxRedirection());
+        mvc.perform(get("/feedback/api/stats/" + propertyId)).andExpect(status().isOk());
+    }
+
+    @Test
+    void overrunFailsTheRequest() {
+        double before = exceededCount();
+        Exception e = assertThrows(Exception.class, () -> mvc.perform(get("/test/over-budget")));
+        assertTrue(e.getMessage().contains("over its query budget of 1"), e.getMessage());
+        assertEquals(before + 1, exceededCount());
+    }
+
+    @Test
+    void repeatedStatementFailsTheRequest() {
+        Exception e = assertThrows(Exception.class, () -> mvc.perform(get("/test/repeated")));
+        assertTrue(e.getMessage().contains("repeated statements"), e.getMessage());
+    }
+
+    private double exceededCount() {
+        return meterRegistry.find("greenlease.request.budget.exceeded").counters().stream()
+            .mapToDouble(counter -> counter.count()).sum();
+    }
+
+    @TestConfiguration
+    static class Handlers {
+
+        @Bean
+        OverBudgetController overBudgetController(JdbcTemplate jdbcTemplate) {
+            return new OverBudgetController(jdbcTemplate);
+        }
+    }
+
+    @RestController
+    static class OverBudgetController {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        OverBudgetController(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @GetMapping("/test/over-budget")
+        @QueryBudget(1)
+        public long overBudget() {
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM properties", Long.class)
+                 + jdbcTemplate.queryForObject("SELECT COUNT(*) FROM feedback", Long.class);
+        }
+
+        @GetMapping("/test/repeated")
+        @QueryBudget(5)
+        public long repeated() {
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM properties", Long.class)
+                 + jdbcTemplate.queryForObject("SELECT COUNT(*) FROM properties", Long.class);
+        }
+    }
+}
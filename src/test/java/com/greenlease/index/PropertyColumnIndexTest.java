@@ -0,0 +1,145 @@
+package com.greenlease.index;
+
+import com.greenlease.model.CursorPage;
+import com.greenlease.model.PropertySearchCriteria;
+import com.greenlease.model.PropertySummary;
+import com.greenlease.model.SeekCursor;
+import com.greenlease.repository.PropertyRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The column index must return the same listings, in the same order, as the SQL search it replaces
+ */
+@SpringBootTest(properties = {
+    "greenlease.search.memory-index.enabled=true",
+    "spring.datasource.url=jdbc:h2:mem:greenlease_column_index;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;IGNORECASE=TRUE"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PropertyColumnIndexTest {
+
+    private static final int PAGE_SIZE = 7;
+    private static final String[][] LOCATIONS = {
+        {"Bangalore", "Karnataka"}, {"Bangalore Rural", "Karnataka"}, {"Chennai", "Tamil Nadu"},
+        {"Pune", "Maharashtra"}, {"Mumbai", "Maharashtra"}
+    };
+    private static final String[] TYPES = {"apartment", "house", "studio"};
+
+    @Autowired
+    private PropertyColumnIndex columnIndex;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String[] location = LOCATIONS[random.nextInt(LOCATIONS.length)];
+            rows.add(new Object[] {
+                "Listing " + i, "Street " + i, location[0], location[1], "5600" + i % 10,
+                BigDecimal.valueOf(5000 + random.nextInt(45) * 1000), TYPES[random.nextInt(TYPES.length)],
+                1 + random.nextInt(4), 1 + random.nextInt(3), random.nextBoolean(),
+                // Half-point steps, so many listings tie on score and the id decides their order
+                random.nextInt(21) / 2.0, random.nextInt(5) > 0
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO properties (title, address, city, state, zip_code, rent, property_type, "
+            + "bedrooms, bathrooms, solar_panels, overall_eco_score, is_available) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        columnIndex.load();
+    }
+
+    @Test
+    void matchesSqlSearch() {
+        for (PropertySearchCriteria criteria : criteria()) {
+            assertEquals(allIds(criteria, propertyRepository::search), allIds(criteria, columnIndex::search),
+                         criteria.toString());
+        }
+    }
+
+    @Test
+    void keepsPagingPastRowsDeletedSinceTheScan() {
+        PropertySearchCriteria criteria = new PropertySearchCriteria();
+        criteria.setCity("chennai");
+        CursorPage<PropertySummary> first = columnIndex.search(criteria, null, PAGE_SIZE);
+        assertTrue(first.isHasNext());
+
+        // Deleted behind the index's back, as another instance would
+        jdbcTemplate.update("DELETE FROM properties WHERE id = ?", first.getItems().get(PAGE_SIZE - 1).getId());
+
+        CursorPage<PropertySummary> again = columnIndex.search(criteria, null, PAGE_SIZE);
+        assertEquals(PAGE_SIZE - 1, again.getItems().size());
+        assertTrue(again.isHasNext());
+        assertEquals(allIds(criteria, propertyRepository::search), allIds(criteria, columnIndex::search));
+    }
+
+    private static List<PropertySearchCriteria> criteria() {
+        List<PropertySearchCriteria> all = new ArrayList<>();
+        all.add(new PropertySearchCriteria());
+
+        PropertySearchCriteria cityPrefix = new PropertySearchCriteria();
+        cityPrefix.setCity("bangalore");
+        all.add(cityPrefix);
+
+        PropertySearchCriteria rent = new PropertySearchCriteria();
+        rent.setMinRent(BigDecimal.valueOf(12000));
+        rent.setMaxRent(BigDecimal.valueOf(30000));
+        all.add(rent);
+
+        all.add(PropertySearchCriteria.ecoScoreRange(4.5, 8.0));
+
+        PropertySearchCriteria combined = new PropertySearchCriteria();
+        combined.setCity("Pu");
+        combined.setSolarPanels(true);
+        combined.setMinBedrooms(2);
+        combined.setMinBathrooms(2);
+        all.add(combined);
+
+        PropertySearchCriteria type = new PropertySearchCriteria();
+        type.setPropertyType("house");
+        type.setSolarPanels(false);
+        all.add(type);
+
+        PropertySearchCriteria unknownType = new PropertySearchCriteria();
+        unknownType.setPropertyType("castle");
+        all.add(unknownType);
+        return all;
+    }
+
+    /**
+     * Every matching id, following next cursors page by page
+     */
+    private static List<Long> allIds(PropertySearchCriteria criteria, Search search) {
+        List<Long> ids = new ArrayList<>();
+        SeekCursor after = null;
+        do {
+            CursorPage<PropertySummary> page = search.apply(criteria, after, PAGE_SIZE);
+            page.getItems().forEach(p -> ids.add(p.getId()));
+            after = SeekCursor.decode(page.getNextCursor());
+        } while (after != null);
+        return ids;
+    }
+
+    private interface Search {
+        CursorPage<PropertySummary> apply(PropertySearchCriteria criteria, SeekCursor after, int limit);
+    }
+}
@@ -0,0 +1,26 @@
+package com.greenlease.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PropertyTextIndexTest {
+
+    @Test
+    void dropsStopWords() {
+        assertEquals(List.of("house", "park"), List.copyOf(PropertyTextIndex.tokenize("The house at the park")));
+    }
+
+    @Test
+    void keepsLastStopWordWhileTyping() {
+        assertEquals(List.of("house", "an"), List.copyOf(PropertyTextIndex.tokenize("house an")));
+        assertEquals(List.of("the"), List.copyOf(PropertyTextIndex.tokenize("the")));
+    }
+
+    @Test
+    void dropsLastStopWordOnceFinished() {
+        assertEquals(List.of("house"), List.copyOf(PropertyTextIndex.tokenize("house an ")));
+    }
+}
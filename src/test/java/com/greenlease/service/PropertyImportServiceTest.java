@@ -0,0 +1,106 @@
+package com.greenlease.service;
+
+import com.greenlease.service.PropertyImportService.CsvReader;
+import com.greenlease.service.PropertyImportService.ImportReport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * CSV parsing, and the per-row report when the database rejects part of a chunk
+ */
+@SpringBootTest(properties =
+    "spring.datasource.url=jdbc:h2:mem:greenlease_import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;IGNORECASE=TRUE")
+@ActiveProfiles("test")
+class PropertyImportServiceTest {
+
+    private static final String HEADER = "title,address,city,state,zip_code,rent,landlord_id\r\n";
+
+    @Autowired
+    private PropertyImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void readsQuotedCommasEscapedQuotesAndLineBreaks() throws IOException {
+        CsvReader reader = reader("plain,\"Indiranagar, Bangalore\",\"the \"\"green\"\" flat\",\"line one\r\nline two\"\r\n"
+                                  + "last,row");
+        assertEquals(List.of("plain", "Indiranagar, Bangalore", "the \"green\" flat", "line one\r\nline two"),
+                     reader.readRecord());
+        assertEquals(List.of("last", "row"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() throws IOException {
+        CsvReader reader = reader("ok\r\n\"never closed,1\r\n");
+        assertEquals(List.of("ok"), reader.readRecord());
+        assertThrows(IllegalStateException.class, reader::readRecord);
+    }
+
+    @Test
+    void skipsByteOrderMarkAndBlankLines() throws IOException {
+        String csv = "\uFEFF\"title\",address,city,state,zip_code,rent,landlord_id\r\n"
+                     + "\r\n"
+                     + "Bom One,1 MG Road,Bangalore,Karnataka,560001,25000,1\r\n"
+                     + "\r\n"
+                     + "Bom Two,2 MG Road,Bangalore,Karnataka,560001,26000,1\r\n"
+                     + "\r\n";
+        ImportReport report = importCsv(csv);
+
+        assertEquals(0, report.getFailedRows(), () -> messages(report));
+        assertEquals(2, report.getImportedRows());
+        assertEquals(2, count("Bom %"));
+    }
+
+    @Test
+    void reportsRowsTheDatabaseRejectsAndKeepsTheRest() throws IOException {
+        String csv = HEADER
+                     + "Fallback One,1 Park Street,Chennai,Tamil Nadu,600001,18000,1\r\n"
+                     + "Fallback Two,2 Park Street,Chennai,Tamil Nadu,600001,19000,999\r\n"
+                     + ",3 Park Street,Chennai,Tamil Nadu,600001,20000,1\r\n"
+                     + "Fallback Four,4 Park Street,Chennai,Tamil Nadu,600001,21000,1\r\n";
+        ImportReport report = importCsv(csv);
+
+        assertFalse(report.isAborted());
+        assertEquals(4, report.getTotalRows());
+        assertEquals(2, report.getImportedRows());
+        assertEquals(2, report.getFailedRows());
+        assertEquals("3: title is required, 2: unknown landlord: 999", messages(report));
+        assertEquals(2, count("Fallback %"));
+    }
+
+    private ImportReport importCsv(String csv) throws IOException {
+        return importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private int count(String titlePattern) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM properties WHERE title LIKE ?", Integer.class, titlePattern);
+    }
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(new BufferedReader(new StringReader(csv)));
+    }
+
+    private static String messages(ImportReport report) {
+        return report.getErrors().stream()
+            .map(e -> e.getRow() + ": " + e.getMessage())
+            .collect(Collectors.joining(", "));
+    }
+}